@@ -59,6 +59,7 @@ public class MediaRadioPlugin extends JavaPlugin {
         // Initialize MediaManager
         this.mediaManager = new MediaManager(this);
         this.mediaManager.init();
+        this.mediaManager.addThumbnailListener(dev.jacobwasbeast.ui.RadioConfigPage::onThumbnailReady);
         this.getLogger().at(Level.INFO).log("MediaManager initialized.");
 
         // Initialize MediaLibrary
@@ -180,6 +181,9 @@ public class MediaRadioPlugin extends JavaPlugin {
         if (playbackManager != null) {
             playbackManager.shutdown();
         }
+        if (mediaManager != null) {
+            mediaManager.shutdown();
+        }
     }
 
     public static MediaRadioPlugin getInstance() {
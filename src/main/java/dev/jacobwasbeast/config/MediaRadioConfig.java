@@ -13,6 +13,19 @@ import java.util.List;
 
 public class MediaRadioConfig {
     private int chunkDurationMs = 750;
+    private boolean streamingIngest = true;
+    // 0 picks available cores minus splitWorkerReserve.
+    private int splitWorkers = 0;
+    private int splitWorkerReserve = 1;
+    private int parallelSplitMinSeconds = 300;
+    // A track nobody plays keeps its runtime assets this long, so replays start instantly.
+    private int idleTrackGraceSeconds = 600;
+    // Idle tracks beyond this many are evicted early, least recently used first.
+    private int maxIdleTracks = 8;
+    // Time per server tick that chunk registration may take when the server is idle; scaled down under load.
+    private int assetTickBudgetMs = 8;
+    // Cached track metadata is served immediately and refreshed in the background once older than this.
+    private int metadataCacheTtlHours = 24;
     private List<String> ytDlpArgs = new ArrayList<>();
     private List<String> ytDlpMetadataArgs = new ArrayList<>();
 
@@ -20,6 +33,38 @@ public class MediaRadioConfig {
         return chunkDurationMs;
     }
 
+    public boolean isStreamingIngest() {
+        return streamingIngest;
+    }
+
+    public int getSplitWorkers() {
+        return splitWorkers;
+    }
+
+    public int getSplitWorkerReserve() {
+        return splitWorkerReserve;
+    }
+
+    public int getParallelSplitMinSeconds() {
+        return parallelSplitMinSeconds;
+    }
+
+    public int getIdleTrackGraceSeconds() {
+        return idleTrackGraceSeconds;
+    }
+
+    public int getMaxIdleTracks() {
+        return maxIdleTracks;
+    }
+
+    public int getAssetTickBudgetMs() {
+        return assetTickBudgetMs;
+    }
+
+    public int getMetadataCacheTtlHours() {
+        return metadataCacheTtlHours;
+    }
+
     public List<String> getYtDlpArgs() {
         return ytDlpArgs != null ? ytDlpArgs : List.of();
     }
@@ -0,0 +1,95 @@
+package dev.jacobwasbeast.manager;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Merges asset loads of one type requested by different tracks and ranges into a single
+ * {@code loadAssetsFromPaths} call, so concurrent preparations trigger one asset update
+ * instead of one each. Paths are collected for {@link #WINDOW_MS} after the first request,
+ * or until {@link #MAX_BATCH_PATHS} are pending, and then loaded together on a dedicated
+ * thread. Every request gets its own future, completed with whether the batch it rode in
+ * loaded without failures.
+ */
+final class AssetLoadCoalescer {
+    private static final long WINDOW_MS = 5;
+    private static final int MAX_BATCH_PATHS = 512;
+
+    private final Predicate<List<Path>> loader;
+    private final ScheduledExecutorService executor;
+    private Set<Path> pendingPaths = new LinkedHashSet<>();
+    private List<CompletableFuture<Boolean>> waiters = new ArrayList<>();
+    private ScheduledFuture<?> scheduledFlush;
+
+    /**
+     * @param loader loads a batch of paths and returns false if any of them failed
+     */
+    AssetLoadCoalescer(String assetType, Predicate<List<Path>> loader) {
+        this.loader = loader;
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "MediaRadio-load-" + assetType);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    CompletableFuture<Boolean> submit(Collection<Path> paths) {
+        CompletableFuture<Boolean> result = new CompletableFuture<>();
+        if (paths.isEmpty()) {
+            result.complete(true);
+            return result;
+        }
+        synchronized (this) {
+            pendingPaths.addAll(paths);
+            waiters.add(result);
+            if (pendingPaths.size() >= MAX_BATCH_PATHS) {
+                if (scheduledFlush != null) {
+                    scheduledFlush.cancel(false);
+                }
+                scheduledFlush = null;
+                executor.execute(this::flush);
+            } else if (scheduledFlush == null) {
+                scheduledFlush = executor.schedule(this::flush, WINDOW_MS, TimeUnit.MILLISECONDS);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Loads {@code paths} with whatever else is pending and waits for the batch.
+     */
+    boolean load(Collection<Path> paths) {
+        return submit(paths).join();
+    }
+
+    private void flush() {
+        List<Path> batch;
+        List<CompletableFuture<Boolean>> batchWaiters;
+        synchronized (this) {
+            if (pendingPaths.isEmpty()) {
+                return;
+            }
+            batch = new ArrayList<>(pendingPaths);
+            batchWaiters = waiters;
+            pendingPaths = new LinkedHashSet<>();
+            waiters = new ArrayList<>();
+            scheduledFlush = null;
+        }
+        try {
+            boolean loaded = loader.test(batch);
+            batchWaiters.forEach(waiter -> waiter.complete(loaded));
+        } catch (Throwable t) {
+            batchWaiters.forEach(waiter -> waiter.completeExceptionally(t));
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package dev.jacobwasbeast.manager;
+
+import com.hypixel.hytale.server.core.universe.Universe;
+import com.hypixel.hytale.server.core.universe.world.World;
+import dev.jacobwasbeast.MediaRadioPlugin;
+import dev.jacobwasbeast.config.MediaRadioConfig;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sizes chunk register/load batches to a per-tick time budget. The cost of each batch is
+ * measured per chunk, and the server's tick headroom is sampled by timing how long a
+ * no-op task waits for the world threads. Batches shrink and the pause between them grows
+ * while ticks run late, and both go back to the full budget once the server is idle.
+ * The pre-roll follows from the same measurements: enough chunks to keep playing while
+ * the next batch is registered.
+ */
+final class AssetLoadPacer {
+    private static final double TICK_MS = 1000.0 / 30;
+    private static final long PROBE_INTERVAL_NANOS = 500_000_000L;
+    // A probe whose world never ran it is given up after this long
+    private static final long PROBE_TIMEOUT_NANOS = 5_000_000_000L;
+    private static final double MIN_HEADROOM = 0.1;
+    private static final int MIN_BATCH_CHUNKS = 2;
+    private static final int MAX_BATCH_CHUNKS = 128;
+    private static final long MAX_EXTRA_PAUSE_MS = 500;
+    private static final int MIN_PREROLL_CHUNKS = 2;
+    private static final int MAX_PREROLL_CHUNKS = 32;
+    // Buffered playback must cover this many batch cycles
+    private static final double PREROLL_SAFETY_FACTOR = 2.0;
+
+    private final MediaRadioPlugin plugin;
+    private volatile double msPerChunk = 2.0;
+    private volatile double tickLagMs;
+    private final AtomicBoolean probing = new AtomicBoolean();
+    private final AtomicLong lastProbeNanos = new AtomicLong(System.nanoTime() - PROBE_INTERVAL_NANOS);
+
+    AssetLoadPacer(MediaRadioPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Chunks to register and load in the next batch.
+     */
+    int batchChunks() {
+        probeIfStale();
+        int chunks = (int) (budgetMs() * headroom() / Math.max(0.01, msPerChunk));
+        return Math.max(MIN_BATCH_CHUNKS, Math.min(MAX_BATCH_CHUNKS, chunks));
+    }
+
+    /**
+     * Delay before the next batch: one tick, so consecutive batches land in different
+     * ticks, plus a back-off while ticks run late.
+     */
+    long pauseMs() {
+        double overrun = Math.max(0, tickLagMs - TICK_MS / 2);
+        return (long) Math.ceil(TICK_MS) + Math.min(MAX_EXTRA_PAUSE_MS, (long) (overrun * 4));
+    }
+
+    /**
+     * Expected time to register and load {@code chunks}, including pauses between batches.
+     */
+    double estimateMs(int chunks) {
+        int batch = batchChunks();
+        int batches = (chunks + batch - 1) / batch;
+        return chunks * msPerChunk + Math.max(0, batches - 1) * pauseMs();
+    }
+
+    /**
+     * Chunks to buffer before playback starts so the next batch is in before they run out.
+     */
+    int prerollChunks(int chunkDurationMs) {
+        double cycleMs = batchChunks() * msPerChunk + pauseMs();
+        int chunks = (int) Math.ceil(PREROLL_SAFETY_FACTOR * cycleMs / Math.max(1, chunkDurationMs));
+        return Math.max(MIN_PREROLL_CHUNKS, Math.min(MAX_PREROLL_CHUNKS, chunks));
+    }
+
+    void recordBatch(int chunks, long elapsedNanos) {
+        if (chunks <= 0) {
+            return;
+        }
+        double sample = elapsedNanos / 1_000_000.0 / chunks;
+        msPerChunk = (msPerChunk * 3 + sample) / 4;
+    }
+
+    private double budgetMs() {
+        MediaRadioConfig config = plugin.getConfig();
+        return Math.max(1, config != null ? config.getAssetTickBudgetMs() : 8);
+    }
+
+    private double headroom() {
+        return Math.max(MIN_HEADROOM, Math.min(1.0, 1.0 - tickLagMs / TICK_MS));
+    }
+
+    private void probeIfStale() {
+        long now = System.nanoTime();
+        long last = lastProbeNanos.get();
+        if (now - last < PROBE_INTERVAL_NANOS) {
+            return;
+        }
+        if (!probing.compareAndSet(false, true) && now - last < PROBE_TIMEOUT_NANOS) {
+            return;
+        }
+        if (!lastProbeNanos.compareAndSet(last, now)) {
+            return;
+        }
+        Universe universe = Universe.get();
+        Collection<World> worlds = universe != null ? universe.getWorlds().values() : java.util.List.of();
+        if (worlds.isEmpty()) {
+            probing.set(false);
+            return;
+        }
+        AtomicInteger pending = new AtomicInteger(worlds.size());
+        AtomicLong slowestNanos = new AtomicLong();
+        for (World world : worlds) {
+            world.execute(() -> {
+                slowestNanos.accumulateAndGet(System.nanoTime() - now, Math::max);
+                if (pending.decrementAndGet() == 0) {
+                    tickLagMs = (tickLagMs + slowestNanos.get() / 1_000_000.0) / 2;
+                    probing.set(false);
+                }
+            });
+        }
+    }
+}
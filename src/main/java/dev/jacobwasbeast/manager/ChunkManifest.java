@@ -0,0 +1,185 @@
+package dev.jacobwasbeast.manager;
+
+import com.google.gson.Gson;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+
+/**
+ * Describes one cut chunk set: how many chunks there are, their byte sizes, actual
+ * durations and SHA-256 checksums, plus the parameters they were encoded with. Written
+ * once at split time so nothing has to probe the chunk directory to learn the layout.
+ *
+ * Durations are stored in {@code timeBase} units per second, the Vorbis sample rate for
+ * chunks cut from the master, so summing them never accumulates rounding error.
+ */
+public final class ChunkManifest {
+    public static final String FILE_NAME = "manifest.json";
+    private static final int FORMAT_VERSION = 1;
+    private static final Gson GSON = new Gson();
+
+    private int formatVersion = FORMAT_VERSION;
+    private String trackId;
+    private int chunkDurationMs;
+    private int normalizationVersion;
+    private String encoderProfile;
+    private int timeBase;
+    private long[] chunkDurations;
+    private long[] chunkSizes;
+    private String[] chunkSha256;
+
+    private ChunkManifest() {
+    }
+
+    /**
+     * Builds a manifest for {@code <trackId>_Chunk_%03d.ogg} files in {@code dir}. When
+     * {@code durations} is null each chunk's duration is read from its last Ogg page.
+     */
+    public static ChunkManifest build(String trackId, Path dir, int chunkCount, int chunkDurationMs,
+            int normalizationVersion, String encoderProfile, int timeBase, long[] durations) throws IOException {
+        ChunkManifest manifest = new ChunkManifest();
+        manifest.trackId = trackId;
+        manifest.chunkDurationMs = chunkDurationMs;
+        manifest.normalizationVersion = normalizationVersion;
+        manifest.encoderProfile = encoderProfile;
+        manifest.chunkDurations = new long[chunkCount];
+        manifest.chunkSizes = new long[chunkCount];
+        manifest.chunkSha256 = new String[chunkCount];
+        int resolvedTimeBase = timeBase;
+        byte[] buffer = new byte[64 * 1024];
+        for (int i = 0; i < chunkCount; i++) {
+            Path chunk = dir.resolve(String.format("%s_Chunk_%03d.ogg", trackId, i));
+            MessageDigest digest;
+            try {
+                digest = MessageDigest.getInstance("SHA-256");
+            } catch (Exception e) {
+                throw new IOException("SHA-256 not supported", e);
+            }
+            long size = 0;
+            try (InputStream in = Files.newInputStream(chunk)) {
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    digest.update(buffer, 0, read);
+                    size += read;
+                }
+            }
+            manifest.chunkSizes[i] = size;
+            manifest.chunkSha256[i] = toHex(digest.digest());
+            if (durations != null && i < durations.length) {
+                manifest.chunkDurations[i] = durations[i];
+            } else {
+                long[] probe = OggChunker.probe(chunk);
+                if (resolvedTimeBase <= 0) {
+                    resolvedTimeBase = (int) probe[0];
+                }
+                manifest.chunkDurations[i] = probe[0] == resolvedTimeBase ? probe[1]
+                        : probe[1] * resolvedTimeBase / Math.max(1, probe[0]);
+            }
+        }
+        manifest.timeBase = resolvedTimeBase > 0 ? resolvedTimeBase : 1000;
+        return manifest;
+    }
+
+    /**
+     * Returns null when the manifest is missing or unreadable.
+     */
+    public static ChunkManifest read(Path file) {
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try (Reader reader = Files.newBufferedReader(file)) {
+            ChunkManifest manifest = GSON.fromJson(reader, ChunkManifest.class);
+            if (manifest == null || manifest.formatVersion != FORMAT_VERSION || manifest.chunkSizes == null
+                    || manifest.chunkDurations == null || manifest.chunkSha256 == null
+                    || manifest.chunkDurations.length != manifest.chunkSizes.length
+                    || manifest.chunkSha256.length != manifest.chunkSizes.length) {
+                return null;
+            }
+            return manifest;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * Writes to a temporary sibling and renames it over the target, so readers only ever
+     * see a complete manifest.
+     */
+    public void write(Path file) throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (Writer writer = Files.newBufferedWriter(temp)) {
+            GSON.toJson(this, writer);
+        }
+        try {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (java.nio.file.AtomicMoveNotSupportedException e) {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    public boolean matches(String trackId, int chunkDurationMs, int normalizationVersion, String encoderProfile) {
+        return trackId.equals(this.trackId) && chunkDurationMs == this.chunkDurationMs
+                && normalizationVersion == this.normalizationVersion && encoderProfile.equals(this.encoderProfile);
+    }
+
+    public String getTrackId() {
+        return trackId;
+    }
+
+    public int getChunkCount() {
+        return chunkSizes.length;
+    }
+
+    public int getChunkDurationMs() {
+        return chunkDurationMs;
+    }
+
+    public int getTimeBase() {
+        return timeBase;
+    }
+
+    public long getChunkDuration(int index) {
+        return chunkDurations[index];
+    }
+
+    public double getChunkDurationMillis(int index) {
+        return chunkDurations[index] * 1000.0 / timeBase;
+    }
+
+    /**
+     * Start offset of every chunk in microseconds, plus the total duration as the final
+     * entry. Computed from the running sample sum so rounding never accumulates.
+     */
+    public long[] getChunkStartMicros() {
+        long[] starts = new long[chunkDurations.length + 1];
+        long elapsed = 0;
+        for (int i = 0; i < chunkDurations.length; i++) {
+            starts[i] = elapsed * 1_000_000L / timeBase;
+            elapsed += chunkDurations[i];
+        }
+        starts[chunkDurations.length] = elapsed * 1_000_000L / timeBase;
+        return starts;
+    }
+
+    public long getChunkSize(int index) {
+        return chunkSizes[index];
+    }
+
+    public String getChunkSha256(int index) {
+        return chunkSha256[index];
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+}
@@ -0,0 +1,157 @@
+package dev.jacobwasbeast.manager;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Readiness bitmap for one track at one volume step: which chunks have a loaded
+ * SoundEvent, and which track model segments are loaded and up to which chunk each has
+ * animation states. A chunk is ready once both hold. Callbacks waiting on a chunk run on
+ * the thread that makes it ready.
+ */
+final class ChunkReadiness {
+    private final BitSet loadedChunks = new BitSet();
+    private final BitSet claimedChunks = new BitSet();
+    private final Map<Integer, List<Runnable>> waiters = new HashMap<>();
+    // Model segment index -> end (exclusive) of the chunks its states cover
+    private final Map<Integer, Integer> modelSegmentEnds = new HashMap<>();
+    private final Map<Integer, Integer> claimedSegmentEnds = new HashMap<>();
+
+    synchronized boolean isReady(int chunkIndex) {
+        return chunkIndex >= 0 && loadedChunks.get(chunkIndex)
+                && chunkIndex < modelSegmentEnds.getOrDefault(chunkIndex / MediaManager.MODEL_SEGMENT_CHUNKS, 0);
+    }
+
+    synchronized boolean hasModelSegment(int segment) {
+        return modelSegmentEnds.containsKey(segment);
+    }
+
+    synchronized Set<Integer> getModelSegments() {
+        return new HashSet<>(modelSegmentEnds.keySet());
+    }
+
+    synchronized boolean isLoaded(int chunkIndex) {
+        return chunkIndex >= 0 && loadedChunks.get(chunkIndex);
+    }
+
+    synchronized BitSet getLoaded() {
+        return (BitSet) loadedChunks.clone();
+    }
+
+    /**
+     * Runs {@code callback} immediately when the chunk is ready, otherwise once it becomes
+     * ready. Running the returned handle drops the callback if it has not run yet.
+     */
+    Runnable whenReady(int chunkIndex, Runnable callback) {
+        synchronized (this) {
+            if (!isReady(chunkIndex)) {
+                waiters.computeIfAbsent(chunkIndex, ignored -> new ArrayList<>()).add(callback);
+                return () -> cancel(chunkIndex, callback);
+            }
+        }
+        callback.run();
+        return () -> {
+        };
+    }
+
+    private synchronized void cancel(int chunkIndex, Runnable callback) {
+        List<Runnable> pending = waiters.get(chunkIndex);
+        if (pending != null && pending.remove(callback) && pending.isEmpty()) {
+            waiters.remove(chunkIndex);
+        }
+    }
+
+    /**
+     * Runs every pending callback once this bitmap has been dropped, so waiters check again
+     * against the bitmap that replaces it instead of waiting out their timeout.
+     */
+    void release() {
+        List<Runnable> pending = new ArrayList<>();
+        synchronized (this) {
+            waiters.values().forEach(pending::addAll);
+            waiters.clear();
+        }
+        pending.forEach(Runnable::run);
+    }
+
+    void markLoaded(BitSet chunks) {
+        List<Runnable> ready;
+        synchronized (this) {
+            loadedChunks.or(chunks);
+            ready = drainReady();
+        }
+        ready.forEach(Runnable::run);
+    }
+
+    void markModelSegment(int segment, int endExclusive) {
+        List<Runnable> ready;
+        synchronized (this) {
+            modelSegmentEnds.merge(segment, endExclusive, Math::max);
+            ready = drainReady();
+        }
+        ready.forEach(Runnable::run);
+    }
+
+    /**
+     * Claims the given chunks for preparation and returns those no earlier caller claimed,
+     * so concurrent prefetches never prepare the same chunk twice.
+     */
+    synchronized BitSet claim(BitSet chunks) {
+        BitSet unclaimed = (BitSet) chunks.clone();
+        unclaimed.andNot(claimedChunks);
+        claimedChunks.or(unclaimed);
+        return unclaimed;
+    }
+
+    /**
+     * Marks the given chunks unloaded and releases their claims so they can be prepared
+     * again when the playhead comes back to them.
+     */
+    synchronized void evict(BitSet chunks) {
+        loadedChunks.andNot(chunks);
+        claimedChunks.andNot(chunks);
+    }
+
+    /**
+     * Returns true if the caller should (re)build model segment {@code segment} to cover
+     * chunks up to {@code endExclusive}.
+     */
+    synchronized boolean claimModelSegment(int segment, int endExclusive) {
+        if (endExclusive <= claimedSegmentEnds.getOrDefault(segment, 0)) {
+            return false;
+        }
+        claimedSegmentEnds.put(segment, endExclusive);
+        return true;
+    }
+
+    /**
+     * Drops a claim whose build failed so the segment is built again next time.
+     */
+    synchronized void unclaimModelSegment(int segment) {
+        Integer loadedEnd = modelSegmentEnds.get(segment);
+        if (loadedEnd != null) {
+            claimedSegmentEnds.put(segment, loadedEnd);
+        } else {
+            claimedSegmentEnds.remove(segment);
+        }
+    }
+
+    private List<Runnable> drainReady() {
+        List<Runnable> ready = new ArrayList<>();
+        Iterator<Map.Entry<Integer, List<Runnable>>> entries = waiters.entrySet().iterator();
+        while (entries.hasNext()) {
+            Map.Entry<Integer, List<Runnable>> entry = entries.next();
+            if (isReady(entry.getKey())) {
+                ready.addAll(entry.getValue());
+                entries.remove();
+            }
+        }
+        return ready;
+    }
+}
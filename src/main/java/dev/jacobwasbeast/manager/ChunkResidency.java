@@ -0,0 +1,261 @@
+package dev.jacobwasbeast.manager;
+
+import com.hypixel.hytale.server.core.HytaleServer;
+import dev.jacobwasbeast.MediaRadioPlugin;
+import dev.jacobwasbeast.util.VolumeUtil;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+
+/**
+ * Keeps only the chunks around each track's playheads registered and loaded. Every
+ * playing session reports the chunk it is on; a track's window is the union of
+ * {@code [chunk - behind, chunk + ahead)} over its sessions, wrapping to the start of
+ * the track for looping sessions. Chunks are loaded once fewer than a low-water mark
+ * remain ahead of a playhead, and unloaded in batches once they fall out of every
+ * window. When the last session ends its window stays loaded until the whole track is
+ * evicted, see {@link TrackAssetGc}.
+ *
+ * Refills are paced by {@link AssetLoadPacer}: each run loads one batch, nearest the
+ * playhead first, and the rest follows after a pause. The low-water mark follows the
+ * expected refill time, so a refill always finishes well before the playhead catches up
+ * with it; the window extends one refill batch past it. Refreshes are coalesced and run
+ * one at a time per track.
+ */
+final class ChunkResidency {
+    private static final int BEHIND_CHUNKS = 2;
+    private static final int MIN_LOW_WATER_CHUNKS = 4;
+    private static final int MIN_REFILL_CHUNKS = 24;
+    private static final int MAX_AHEAD_CHUNKS = 256;
+    private static final int EVICT_BATCH_CHUNKS = 16;
+    // Buffered playback must cover this many refills
+    private static final double REFILL_SAFETY_FACTOR = 2.0;
+
+    private final MediaRadioPlugin plugin;
+    private final MediaManager mediaManager;
+    private final Map<PlaybackSession, Playhead> playheads = new ConcurrentHashMap<>();
+    private final Map<String, TrackState> tracks = new ConcurrentHashMap<>();
+    private final AssetLoadPacer pacer;
+    private final Executor executor;
+    private volatile boolean evictionSupported = true;
+
+    ChunkResidency(MediaRadioPlugin plugin, MediaManager mediaManager, Executor executor) {
+        this.plugin = plugin;
+        this.mediaManager = mediaManager;
+        this.executor = executor;
+        this.pacer = new AssetLoadPacer(plugin);
+    }
+
+    private record Playhead(String trackId, int chunk, int totalChunks, boolean loop, int volumeStep,
+            int chunkDurationMs) {
+    }
+
+    private static final class TrackState {
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private volatile boolean dirty;
+    }
+
+    /**
+     * Records where {@code session} is and refreshes its track's window. Called from the
+     * world thread whenever a session starts a chunk or seeks.
+     */
+    void update(PlaybackSession session) {
+        String trackId = session.getTrackId();
+        if (trackId == null || session.isStopped()) {
+            return;
+        }
+        playheads.put(session, new Playhead(trackId, session.getCurrentChunk(), session.getTotalChunks(),
+                session.isLoopEnabled(), VolumeUtil.eventDbToStep(session.getVolume()), session.getChunkDurationMs()));
+        refresh(trackId);
+    }
+
+    /**
+     * Drops {@code session}'s playhead.
+     */
+    void release(PlaybackSession session) {
+        playheads.remove(session);
+    }
+
+    /**
+     * Forgets a track entirely, e.g. before its runtime assets are deleted.
+     */
+    void forget(String trackId) {
+        playheads.values().removeIf(playhead -> playhead.trackId().equals(trackId));
+        tracks.remove(trackId);
+    }
+
+    /**
+     * Chunks to load before playback starts, derived from the measured load throughput;
+     * the rest of the window follows once the playhead reports in.
+     */
+    int initialWindowChunks(int chunkDurationMs) {
+        return pacer.prerollChunks(chunkDurationMs);
+    }
+
+    /**
+     * Schedules a window refresh for {@code trackId}, e.g. after more of it was cut.
+     */
+    void refresh(String trackId) {
+        TrackState state = state(trackId);
+        state.dirty = true;
+        schedule(trackId, state);
+    }
+
+    private TrackState state(String trackId) {
+        return tracks.computeIfAbsent(trackId, ignored -> new TrackState());
+    }
+
+    private void schedule(String trackId, TrackState state) {
+        schedule(trackId, state, 0);
+    }
+
+    private void schedule(String trackId, TrackState state, long delayMs) {
+        if (!state.scheduled.compareAndSet(false, true)) {
+            return;
+        }
+        if (delayMs > 0) {
+            // The server scheduler only times the pause; the refill itself runs on the executor
+            HytaleServer.SCHEDULED_EXECUTOR.schedule(() -> executor.execute(() -> run(trackId, state)), delayMs,
+                    TimeUnit.MILLISECONDS);
+        } else {
+            executor.execute(() -> run(trackId, state));
+        }
+    }
+
+    private void run(String trackId, TrackState state) {
+        boolean more = false;
+        try {
+            while (state.dirty && !more) {
+                state.dirty = false;
+                more = apply(trackId);
+            }
+        } catch (Exception e) {
+            plugin.getLogger().at(Level.WARNING).withCause(e).log("Failed to refresh chunk window for %s",
+                    trackId);
+        } finally {
+            state.scheduled.set(false);
+            if (more) {
+                state.dirty = true;
+                schedule(trackId, state, pacer.pauseMs());
+            } else if (state.dirty) {
+                schedule(trackId, state);
+            }
+        }
+    }
+
+    /**
+     * Loads at most one batch of the window and unloads what fell out of it. Returns true
+     * if more of the window is still missing.
+     */
+    private boolean apply(String trackId) {
+        List<Playhead> heads = new ArrayList<>();
+        for (Playhead playhead : playheads.values()) {
+            if (playhead.trackId().equals(trackId)) {
+                heads.add(playhead);
+            }
+        }
+        BitSet resident = mediaManager.residentChunks(trackId);
+        if (heads.isEmpty()) {
+            return false;
+        }
+
+        BitSet desired = new BitSet();
+        Set<Integer> volumeSteps = new HashSet<>();
+        boolean refill = false;
+        int totalChunks = 0;
+        int nearest = Integer.MAX_VALUE;
+        for (Playhead playhead : heads) {
+            int total = Math.max(1, playhead.totalChunks());
+            int chunk = Math.min(Math.max(0, playhead.chunk()), total - 1);
+            int ahead = aheadChunks(playhead.chunkDurationMs());
+            totalChunks = Math.max(totalChunks, total);
+            volumeSteps.add(playhead.volumeStep());
+            nearest = Math.min(nearest, chunk);
+
+            desired.set(Math.max(0, chunk - BEHIND_CHUNKS), Math.min(total, chunk + ahead));
+            if (playhead.loop() && chunk + ahead > total) {
+                desired.set(0, Math.min(chunk, chunk + ahead - total));
+            }
+
+            int buffered = 0;
+            int reachable = playhead.loop() ? ahead : Math.min(ahead, total - chunk);
+            while (buffered < reachable && resident.get((chunk + buffered) % total)) {
+                buffered++;
+            }
+            if (buffered < Math.min(reachable, lowWaterChunks(playhead.chunkDurationMs()))) {
+                refill = true;
+            }
+        }
+
+        boolean more = false;
+        if (refill) {
+            BitSet missing = (BitSet) desired.clone();
+            missing.andNot(resident);
+            if (!missing.isEmpty()) {
+                BitSet batch = nextBatch(missing, nearest, pacer.batchChunks());
+                long started = System.nanoTime();
+                mediaManager.loadResidentChunks(trackId, batch, volumeSteps, totalChunks);
+                pacer.recordBatch(batch.cardinality(), System.nanoTime() - started);
+                more = batch.cardinality() < missing.cardinality();
+            }
+        }
+
+        BitSet evictable = (BitSet) resident.clone();
+        evictable.andNot(desired);
+        if (evictable.cardinality() >= EVICT_BATCH_CHUNKS) {
+            evict(trackId, evictable);
+        }
+        return more;
+    }
+
+    /**
+     * Up to {@code limit} of the missing chunks, starting at {@code from} and wrapping to
+     * the start of the track, so chunks the playhead reaches first load first.
+     */
+    private static BitSet nextBatch(BitSet missing, int from, int limit) {
+        BitSet batch = new BitSet();
+        int taken = 0;
+        for (int i = missing.nextSetBit(from); i >= 0 && taken < limit; i = missing.nextSetBit(i + 1)) {
+            batch.set(i);
+            taken++;
+        }
+        for (int i = missing.nextSetBit(0); i >= 0 && i < from && taken < limit; i = missing.nextSetBit(i + 1)) {
+            batch.set(i);
+            taken++;
+        }
+        return batch;
+    }
+
+    private void evict(String trackId, BitSet chunks) {
+        if (!evictionSupported || chunks.isEmpty()) {
+            return;
+        }
+        // Only a server without any removal method turns eviction off; chunks whose
+        // removal failed stay resident and are evicted again on a later refresh.
+        if (!mediaManager.evictResidentChunks(trackId, chunks)) {
+            evictionSupported = false;
+            plugin.getLogger().at(Level.WARNING)
+                    .log("Server does not support unloading assets; chunks stay loaded once played.");
+        }
+    }
+
+    private int lowWaterChunks(int chunkDurationMs) {
+        double refillMs = pacer.estimateMs(MIN_REFILL_CHUNKS);
+        int needed = (int) Math.ceil(REFILL_SAFETY_FACTOR * refillMs / Math.max(1, chunkDurationMs));
+        return Math.max(MIN_LOW_WATER_CHUNKS, needed);
+    }
+
+    private int aheadChunks(int chunkDurationMs) {
+        int lowWater = lowWaterChunks(chunkDurationMs);
+        return Math.min(MAX_AHEAD_CHUNKS, lowWater + Math.max(MIN_REFILL_CHUNKS, lowWater));
+    }
+}
@@ -0,0 +1,153 @@
+package dev.jacobwasbeast.manager;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Bounded pools for all blocking media work, one per stage, so yt-dlp and ffmpeg waits
+ * never occupy the common pool or the server's shared scheduler, and one slow stage
+ * cannot starve another. The stages that mostly wait on external processes run on
+ * virtual threads; the pool size still caps how many processes run at once.
+ *
+ * Each stage queues by {@link Priority}, so work a player is waiting on always runs
+ * before prefetching and background warming. Background tasks are rejected once their
+ * stage's queue is full; higher priorities are always accepted.
+ */
+final class MediaExecutors {
+    enum Stage {
+        METADATA("metadata", 3, 64, true),
+        DOWNLOAD("download", 2, 32, true),
+        ENCODE("encode", 2, 32, false),
+        REGISTER("register", 2, 128, false);
+
+        private final String name;
+        private final int threads;
+        private final int backgroundQueueLimit;
+        private final boolean virtual;
+
+        Stage(String name, int threads, int backgroundQueueLimit, boolean virtual) {
+            this.name = name;
+            this.threads = threads;
+            this.backgroundQueueLimit = backgroundQueueLimit;
+            this.virtual = virtual;
+        }
+    }
+
+    enum Priority {
+        // A player is waiting on the result
+        PLAYBACK,
+        // Needed soon, e.g. chunks ahead of the playhead
+        PREFETCH,
+        // Nobody is waiting; dropped when the queue is full
+        BACKGROUND
+    }
+
+    private final Map<Stage, ThreadPoolExecutor> pools = new EnumMap<>(Stage.class);
+    private final AtomicLong sequence = new AtomicLong();
+
+    MediaExecutors() {
+        for (Stage stage : Stage.values()) {
+            ThreadPoolExecutor pool = new ThreadPoolExecutor(stage.threads, stage.threads, 30, TimeUnit.SECONDS,
+                    new PriorityBlockingQueue<>(), threadFactory(stage));
+            pool.allowCoreThreadTimeOut(true);
+            pools.put(stage, pool);
+        }
+    }
+
+    private static ThreadFactory threadFactory(Stage stage) {
+        String prefix = "MediaRadio-" + stage.name + "-";
+        if (stage.virtual) {
+            return Thread.ofVirtual().name(prefix, 0).factory();
+        }
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Executor submitting to {@code stage} at {@code priority}, for use with the
+     * {@code CompletableFuture} async methods.
+     */
+    Executor executor(Stage stage, Priority priority) {
+        return task -> execute(stage, priority, task);
+    }
+
+    /**
+     * Grows {@code stage} to at least {@code threads} threads; it never shrinks below its
+     * default size.
+     */
+    void ensureThreads(Stage stage, int threads) {
+        ThreadPoolExecutor pool = pools.get(stage);
+        synchronized (pool) {
+            if (threads > pool.getMaximumPoolSize()) {
+                pool.setMaximumPoolSize(threads);
+                pool.setCorePoolSize(threads);
+            }
+        }
+    }
+
+    void execute(Stage stage, Priority priority, Runnable task) {
+        ThreadPoolExecutor pool = pools.get(stage);
+        if (priority == Priority.BACKGROUND && pool.getQueue().size() >= stage.backgroundQueueLimit) {
+            throw new RejectedExecutionException("MediaRadio " + stage.name + " queue is full");
+        }
+        pool.execute(new PrioritizedTask(priority, sequence.getAndIncrement(), task));
+    }
+
+    /**
+     * Runs {@code supplier} on {@code stage}; a rejected task completes exceptionally.
+     */
+    <T> CompletableFuture<T> supply(Stage stage, Priority priority, Supplier<T> supplier) {
+        try {
+            return CompletableFuture.supplyAsync(supplier, executor(stage, priority));
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    CompletableFuture<Void> run(Stage stage, Priority priority, Runnable task) {
+        try {
+            return CompletableFuture.runAsync(task, executor(stage, priority));
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Starts a helper that only pumps or drains process streams.
+     */
+    static void startStreamWorker(String name, Runnable task) {
+        Thread.ofVirtual().name(name).start(task);
+    }
+
+    void shutdown() {
+        pools.values().forEach(ThreadPoolExecutor::shutdownNow);
+    }
+
+    private record PrioritizedTask(Priority priority, long sequence, Runnable task)
+            implements Runnable, Comparable<PrioritizedTask> {
+        @Override
+        public void run() {
+            task.run();
+        }
+
+        @Override
+        public int compareTo(PrioritizedTask other) {
+            int byPriority = priority.compareTo(other.priority);
+            return byPriority != 0 ? byPriority : Long.compare(sequence, other.sequence);
+        }
+    }
+}
@@ -194,6 +194,39 @@ public class MediaLibrary {
         }
     }
 
+    /**
+     * Sets the thumbnail of every saved entry for the track, in all libraries, and saves
+     * if any entry changed. Returns true if any entry changed.
+     */
+    public boolean setThumbnail(String url, String trackId, String thumbnailAssetPath) {
+        boolean changed = updateThumbnail(url, trackId, thumbnailAssetPath);
+        if (changed) {
+            save();
+        }
+        return changed;
+    }
+
+    /**
+     * Like {@link #setThumbnail} without saving, for callers that save a batch of updates
+     * at once.
+     */
+    public boolean updateThumbnail(String url, String trackId, String thumbnailAssetPath) {
+        String normalizedUrl = url != null ? normalizeUrlForMatch(url) : null;
+        boolean changed = false;
+        for (List<SavedSong> songs : songsByPlayer.values()) {
+            for (SavedSong s : songs) {
+                boolean matches = (trackId != null && trackId.equals(s.trackId))
+                        || (normalizedUrl != null && s.url != null && normalizedUrl.equals(normalizeUrlForMatch(s.url)));
+                if (matches && !thumbnailAssetPath.equals(s.thumbnailAssetPath)) {
+                    s.trackId = trackId;
+                    s.thumbnailAssetPath = thumbnailAssetPath;
+                    changed = true;
+                }
+            }
+        }
+        return changed;
+    }
+
     public void removeSong(String playerId, String url) {
         if (url == null || url.isEmpty()) {
             return;
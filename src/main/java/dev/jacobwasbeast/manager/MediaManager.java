@@ -3,7 +3,6 @@ package dev.jacobwasbeast.manager;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonObject;
-import com.hypixel.hytale.assetstore.AssetLoadResult;
 import com.hypixel.hytale.assetstore.AssetUpdateQuery;
 import com.hypixel.hytale.common.plugin.PluginManifest;
 import com.hypixel.hytale.common.semver.Semver;
@@ -11,10 +10,13 @@ import com.hypixel.hytale.math.vector.Vector3i;
 import com.hypixel.hytale.server.core.asset.AssetModule;
 import com.hypixel.hytale.server.core.asset.common.CommonAssetModule;
 import com.hypixel.hytale.server.core.asset.common.CommonAssetRegistry;
-import com.hypixel.hytale.server.core.asset.common.asset.FileCommonAsset;
 import com.hypixel.hytale.server.core.asset.type.model.config.ModelAsset;
 import com.hypixel.hytale.server.core.asset.type.soundevent.config.SoundEvent;
 import dev.jacobwasbeast.MediaRadioPlugin;
+import dev.jacobwasbeast.config.MediaRadioConfig;
+import dev.jacobwasbeast.util.AssetStoreCompat;
+import dev.jacobwasbeast.util.LazyFileCommonAsset;
+import dev.jacobwasbeast.util.ThumbnailImage;
 import dev.jacobwasbeast.util.VolumeUtil;
 import dev.jacobwasbeast.util.EmbeddedTools;
 
@@ -34,6 +36,7 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import java.security.MessageDigest;
 import java.util.logging.Level;
 import java.awt.image.BufferedImage;
@@ -46,9 +49,30 @@ public class MediaManager {
     private static final String RUNTIME_ASSETS_DIR = "media_radio_assets";
     private static final String STORAGE_DIR = "songs";
     private static final int CURRENT_NORMALIZATION_VERSION = 1;
-    private static final int INITIAL_ASSET_BATCH = 100;
-    private static final int BACKGROUND_ASSET_BATCH = 75;
-    private static final long BACKGROUND_ASSET_DELAY_MS = 750L;
+    // Chunks per track model segment; bounds model size regardless of track length
+    static final int MODEL_SEGMENT_CHUNKS = 256;
+    private static final String LOUDNORM_FILTER = "loudnorm=I=-16:TP=-1.5:LRA=11";
+    private static final String SPLIT_WORK_DIR = "split_work";
+    private static final String MASTER_DIR_SUFFIX = ".master";
+    // Short Ogg pages give OggChunker fine-grained cut points (ffmpeg's default is 1s).
+    private static final String MASTER_PAGE_DURATION_US = "20000";
+    private static final String CHUNK_CACHE_DIR = "chunk_cache";
+    // Anything that changes chunk bytes must change this, so old cache entries stop matching.
+    private static final String CHUNK_ENCODER_PROFILE = "libvorbis-q4-mono|" + LOUDNORM_FILTER + "|page"
+            + MASTER_PAGE_DURATION_US + "|oggchunker-1";
+    private static final String SOURCE_PRINT_PREFIX = "MEDIARADIO_SOURCE|";
+    private static final String METADATA_PRINT_PREFIX = "MEDIARADIO_METADATA|";
+    private static final String THUMBNAIL_PRINT_PREFIX = "MEDIARADIO_THUMBNAIL|";
+    // Startup thumbnail warm-up: tracks fetched at once, and library updates per save
+    private static final int THUMBNAIL_WARMUP_CONCURRENCY = 2;
+    private static final int THUMBNAIL_WARMUP_SAVE_BATCH = 20;
+    private static final long THUMBNAIL_WARMUP_RETRY_SECONDS = 5;
+    private static final java.util.regex.Pattern FFMPEG_INPUT_PATTERN = java.util.regex.Pattern
+            .compile("^Input #0, (.+?), from ");
+    private static final java.util.regex.Pattern FFMPEG_DURATION_PATTERN = java.util.regex.Pattern
+            .compile("Duration: (\\d+):(\\d+):(\\d+(?:\\.\\d+)?)");
+    private static final java.util.regex.Pattern FFMPEG_AUDIO_PATTERN = java.util.regex.Pattern
+            .compile("Stream #0:\\d+.*?: Audio: (\\w+)");
 
     private final MediaRadioPlugin plugin;
     private final Path runtimeAssetsPath;
@@ -60,9 +84,34 @@ public class MediaManager {
     private final Path songsIndexFile;
 
     private final Map<String, StoredSong> storedSongs = new ConcurrentHashMap<>();
+    private final java.util.Set<String> metadataRefreshes = ConcurrentHashMap.newKeySet();
+    private final java.util.List<java.util.function.BiConsumer<String, String>> thumbnailListeners =
+            new java.util.concurrent.CopyOnWriteArrayList<>();
     private final Map<String, CompletableFuture<MediaInfo>> inFlightRequests = new ConcurrentHashMap<>();
+    private final Map<String, StreamingIngestJob> streamingIngests = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<Boolean>> rangePreparations = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<Void>> backgroundFills = new ConcurrentHashMap<>();
+    // Manifest of the chunk set currently linked into the runtime pack, per track.
+    private final Map<String, ChunkManifest> chunkManifests = new ConcurrentHashMap<>();
+    private final Map<String, ChunkReadiness> chunkReadiness = new ConcurrentHashMap<>();
+    private final Map<String, TrackPreparation> trackPreparations = new ConcurrentHashMap<>();
+    // Loudness of each track's source, shared by the master and seek windows so both get the same gain
+    private final Map<String, LoudnessMeasurement> loudnessMeasurements = new ConcurrentHashMap<>();
+    // Blocking media work, staged and prioritized; never the common pool or the server scheduler
+    private final MediaExecutors executors = new MediaExecutors();
+    private final ChunkResidency residency;
+    private final TrackAssetGc trackGc = new TrackAssetGc(trackId -> executors.execute(
+            MediaExecutors.Stage.REGISTER, MediaExecutors.Priority.PREFETCH, () -> evictIdleTrack(trackId)));
+    // Loads from every track are merged into one asset store update per asset type
+    private final AssetLoadCoalescer soundEventLoads = new AssetLoadCoalescer("sound-events",
+            paths -> !SoundEvent.getAssetStore()
+                    .loadAssetsFromPaths(RUNTIME_PACK_NAME, paths, AssetUpdateQuery.DEFAULT, true).hasFailed());
+    private final AssetLoadCoalescer modelLoads = new AssetLoadCoalescer("models",
+            paths -> !ModelAsset.getAssetStore()
+                    .loadAssetsFromPaths(RUNTIME_PACK_NAME, paths, AssetUpdateQuery.DEFAULT, true).hasFailed());
 
     private final Path serverModelsPath;
+    private final Path modelRevisionsPath;
     private final Path serverRolesPath;
 
     public MediaManager(MediaRadioPlugin plugin) {
@@ -81,9 +130,18 @@ public class MediaManager {
         // Models and Roles
         // Models and Roles
         this.serverModelsPath = runtimeAssetsPath.resolve("Common/Models/MediaRadio");
+        // Immutable copies of each model segment revision served to clients; outside Common/
+        // and Server/ so no asset loader picks them up
+        this.modelRevisionsPath = runtimeAssetsPath.resolve("ModelRevisions");
         this.serverRolesPath = runtimeAssetsPath.resolve("Server/NPC/Roles");
 
         this.thumbnailPath = runtimeAssetsPath.resolve("Common/UI/Custom/Pages/MediaRadio/Thumbs");
+        this.residency = new ChunkResidency(plugin, this,
+                executors.executor(MediaExecutors.Stage.REGISTER, MediaExecutors.Priority.PREFETCH));
+    }
+
+    public void shutdown() {
+        executors.shutdown();
     }
 
     public void init() {
@@ -110,6 +168,7 @@ public class MediaManager {
         Files.createDirectories(commonAudioPath);
         Files.createDirectories(serverSoundEventsPath);
         Files.createDirectories(serverModelsPath);
+        Files.createDirectories(modelRevisionsPath);
         Files.createDirectories(serverRolesPath);
         Files.createDirectories(thumbnailPath);
         Files.createDirectories(storagePath);
@@ -121,6 +180,7 @@ public class MediaManager {
         deleteDirectory(serverSoundEventsPath);
         deleteDirectory(runtimeAssetsPath.resolve("Common/Models/MediaRadio")); // Cleanup old path
         deleteDirectory(serverModelsPath);
+        deleteDirectory(modelRevisionsPath);
         deleteDirectory(serverRolesPath);
     }
 
@@ -175,7 +235,7 @@ public class MediaManager {
         }
     }
 
-    private void saveSongIndex() {
+    private synchronized void saveSongIndex() {
         try (Writer writer = Files.newBufferedWriter(songsIndexFile)) {
             GSON.toJson(storedSongs, writer);
         } catch (IOException e) {
@@ -184,201 +244,698 @@ public class MediaManager {
     }
 
     public CompletableFuture<MediaInfo> requestMedia(String url) {
+        return requestMedia(url, null);
+    }
+
+    /**
+     * Resolves and fetches a track with a single yt-dlp run for metadata, thumbnail and, when
+     * the track will not be streamed in at playback, the audio. {@code onMetadata} is called
+     * with the title, artist and duration as soon as yt-dlp has them, before any download.
+     *
+     * A track whose metadata is in the song index and whose audio is stored or can be
+     * streamed in is served from the index without running yt-dlp; metadata older than the
+     * configured TTL is refreshed in the background.
+     */
+    public CompletableFuture<MediaInfo> requestMedia(String url,
+            java.util.function.Consumer<MediaInfo> onMetadata) {
         String normalizedUrl = normalizeUrl(url);
         String trackId = getTrackIdForUrl(normalizedUrl);
 
         // If we have the audio stored, we can re-resolve metadata for freshness.
+        boolean haveAudio = resolveStoredAudio(trackId) != null;
+        MediaRadioConfig config = plugin.getConfig();
+        // With streaming ingest the download happens while the chunks are cut, so it is
+        // deferred to playback.
+        boolean downloadAudio = !haveAudio && (config == null || !config.isStreamingIngest());
+        MediaExecutors.Stage stage = downloadAudio ? MediaExecutors.Stage.DOWNLOAD : MediaExecutors.Stage.METADATA;
+
+        MediaInfo cached = !downloadAudio ? cachedMetadata(normalizedUrl, trackId) : null;
+        if (cached != null && (haveAudio || canStreamIngest(cached))) {
+            plugin.getLogger().at(Level.INFO).log("Serving cached metadata: %s -> %s", normalizedUrl, trackId);
+            if (onMetadata != null) {
+                onMetadata.accept(cached);
+            }
+            String thumbnailAssetPath = hasThumbnail(trackId) ? getThumbnailAssetPath(trackId) : null;
+            prepareThumbnailAsync(normalizedUrl, trackId, false);
+            return CompletableFuture.completedFuture(new MediaInfo(trackId, normalizedUrl, cached.title,
+                    cached.artist, cached.thumbnailUrl, cached.duration, 0, thumbnailAssetPath));
+        }
 
         plugin.getLogger().at(Level.INFO).log("Processing media request: %s -> %s", normalizedUrl, trackId);
-        return inFlightRequests.computeIfAbsent(trackId, key -> CompletableFuture.supplyAsync(() -> {
+        return inFlightRequests.computeIfAbsent(trackId, key -> executors.supply(stage,
+                MediaExecutors.Priority.PLAYBACK, () -> {
             try {
-                // 1. Fetch Metadata first
-                MediaInfo metadata = resolveMetadata(normalizedUrl, trackId);
-
-                // 2. Ensure the full audio is downloaded to storage
-                Path storedAudio = storagePath.resolve(trackId + ".ogg");
-                if (!Files.exists(storedAudio)) {
-                    downloadMedia(normalizedUrl, trackId);
-                }
-                StoredSong stored = storedSongs.get(trackId);
-                if (stored == null) {
-                    storedSongs.put(trackId, new StoredSong(trackId, normalizedUrl, metadata.title, metadata.artist,
-                            metadata.duration, CURRENT_NORMALIZATION_VERSION));
-                    saveSongIndex();
-                }
-                String thumbnailAssetPath = ensureThumbnail(normalizedUrl, trackId);
-                return new MediaInfo(trackId, normalizedUrl, metadata.title, metadata.artist, metadata.thumbnailUrl,
-                        metadata.duration, 0, thumbnailAssetPath);
+                boolean writeThumbnail = !hasThumbnail(trackId);
+                // The thumbnail is finished in parallel with the download and never delays playback
+                java.util.concurrent.atomic.AtomicBoolean thumbnailStarted =
+                        new java.util.concurrent.atomic.AtomicBoolean();
+                Runnable startThumbnail = () -> {
+                    if (thumbnailStarted.compareAndSet(false, true)) {
+                        prepareThumbnailAsync(normalizedUrl, trackId, writeThumbnail);
+                    }
+                };
+                MediaInfo fetched = runYtDlp(normalizedUrl, trackId, downloadAudio, writeThumbnail, metadata -> {
+                    rememberMetadata(metadata);
+                    if (onMetadata != null) {
+                        onMetadata.accept(metadata);
+                    }
+                }, startThumbnail);
+                startThumbnail.run();
+                String thumbnailAssetPath = writeThumbnail ? null : getThumbnailAssetPath(trackId);
+                return new MediaInfo(trackId, normalizedUrl, fetched.title, fetched.artist, fetched.thumbnailUrl,
+                        fetched.duration, 0, thumbnailAssetPath);
             } catch (Exception e) {
                 String message = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
                 plugin.getLogger().at(Level.SEVERE).withCause(e).log("Failed to process media request: %s", message);
                 throw new RuntimeException(e);
             }
-        }).whenComplete((info, err) -> inFlightRequests.remove(trackId)));
+        }).thenApplyAsync(mediaInfo -> {
+            // Tracks without a known duration cannot be streamed in and are downloaded up front
+            if (!haveAudio && !downloadAudio && !canStreamIngest(mediaInfo)
+                    && resolveStoredAudio(trackId) == null) {
+                try {
+                    downloadMedia(normalizedUrl, trackId);
+                } catch (Exception e) {
+                    String message = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+                    plugin.getLogger().at(Level.SEVERE).withCause(e)
+                            .log("Failed to process media request: %s", message);
+                    throw new RuntimeException(e);
+                }
+            }
+            return mediaInfo;
+        }, executors.executor(MediaExecutors.Stage.DOWNLOAD, MediaExecutors.Priority.PLAYBACK))
+                .whenComplete((info, err) -> inFlightRequests.remove(trackId)));
     }
 
-    private MediaInfo resolveMetadata(String url, String trackId) throws Exception {
+    /**
+     * Metadata from the song index, or null if none was recorded. Starts a background
+     * refresh when it is older than the TTL.
+     */
+    private MediaInfo cachedMetadata(String url, String trackId) {
+        StoredSong stored = storedSongs.get(trackId);
+        if (stored == null || stored.title == null || stored.metadataFetchedAt <= 0) {
+            return null;
+        }
+        MediaRadioConfig config = plugin.getConfig();
+        long ttlMs = TimeUnit.HOURS.toMillis(config != null ? config.getMetadataCacheTtlHours() : 24);
+        if (System.currentTimeMillis() - stored.metadataFetchedAt > ttlMs) {
+            refreshMetadataAsync(url, trackId);
+        }
+        return new MediaInfo(trackId, url, stored.title, stored.artist,
+                stored.thumbnailUrl != null ? stored.thumbnailUrl : "", stored.duration, 0, "");
+    }
+
+    private void refreshMetadataAsync(String url, String trackId) {
+        if (!metadataRefreshes.add(trackId)) {
+            return;
+        }
+        executors.run(MediaExecutors.Stage.METADATA, MediaExecutors.Priority.BACKGROUND, () -> {
+            try {
+                rememberMetadata(runYtDlp(url, trackId, false, false, null, null));
+            } catch (Exception e) {
+                plugin.getLogger().at(Level.WARNING).withCause(e).log("Failed to refresh metadata for %s", trackId);
+            }
+        }).whenComplete((ignored, err) -> metadataRefreshes.remove(trackId));
+    }
+
+    private void rememberMetadata(MediaInfo metadata) {
+        StoredSong stored = storedSongs.computeIfAbsent(metadata.trackId, key -> new StoredSong(key, metadata.url,
+                metadata.title, metadata.artist, metadata.duration, CURRENT_NORMALIZATION_VERSION));
+        stored.url = metadata.url;
+        stored.title = metadata.title;
+        stored.artist = metadata.artist;
+        stored.thumbnailUrl = metadata.thumbnailUrl;
+        if (metadata.duration > 0) {
+            stored.duration = metadata.duration;
+        }
+        stored.metadataFetchedAt = System.currentTimeMillis();
+        saveSongIndex();
+    }
+
+    /**
+     * Converts and registers the track's thumbnail in the background, then pushes it into
+     * the library and open radio pages. {@code written} means yt-dlp already wrote the image
+     * file; otherwise an existing PNG is registered or the thumbnail is fetched.
+     */
+    private void prepareThumbnailAsync(String url, String trackId, boolean written) {
+        executors.supply(MediaExecutors.Stage.METADATA, MediaExecutors.Priority.PREFETCH,
+                () -> written ? finishThumbnail(trackId) : ensureThumbnail(url, trackId))
+                .thenAccept(assetPath -> publishThumbnail(url, trackId, assetPath));
+    }
+
+    private void publishThumbnail(String url, String trackId, String assetPath) {
+        if (assetPath == null || assetPath.isEmpty()) {
+            return;
+        }
+        MediaLibrary library = plugin.getMediaLibrary();
+        if (library != null) {
+            library.setThumbnail(url, trackId, assetPath);
+        }
+        for (java.util.function.BiConsumer<String, String> listener : thumbnailListeners) {
+            listener.accept(trackId, assetPath);
+        }
+    }
+
+    /**
+     * Registers a listener called with the track id and asset path whenever a thumbnail
+     * becomes available after its request completed.
+     */
+    public void addThumbnailListener(java.util.function.BiConsumer<String, String> listener) {
+        thumbnailListeners.add(listener);
+    }
+
+    /**
+     * Runs yt-dlp once for a request. Metadata is printed as soon as extraction finishes,
+     * before any download, and handed to {@code onMetadata} right away. The same process
+     * also writes the thumbnail when {@code writeThumbnail} is set, calling
+     * {@code onThumbnailWritten} once it is on disk, and downloads the source audio when
+     * {@code downloadAudio} is set. Returns the metadata.
+     */
+    private MediaInfo runYtDlp(String url, String trackId, boolean downloadAudio, boolean writeThumbnail,
+            java.util.function.Consumer<MediaInfo> onMetadata, Runnable onThumbnailWritten) throws Exception {
         java.util.List<String> command = new java.util.ArrayList<>();
         command.add(requireYtDlpCommand());
-        command.add("--dump-json");
         command.add("--no-playlist");
         command.add("--no-progress");
-        command.add("--quiet");
-        java.util.List<String> extraArgs = getYtDlpMetadataArgs();
-        if (!extraArgs.isEmpty()) {
-            command.addAll(extraArgs);
+        // --print would otherwise imply --simulate and suppress the thumbnail
+        command.add("--no-simulate");
+        command.add("--print");
+        command.add("video:" + METADATA_PRINT_PREFIX + "%(.{title,uploader,thumbnail,duration})j");
+        if (downloadAudio) {
+            // Keep the native audio stream (opus/m4a/...) as-is. The only encode happens in
+            // splitAudio, which produces the normalized mono chunks straight from the source.
+            command.add("-f");
+            command.add("bestaudio/best");
+            Path ffmpegLocation = mediaTools.getFfmpegLocationForYtDlp();
+            if (ffmpegLocation != null) {
+                command.add("--ffmpeg-location");
+                command.add(ffmpegLocation.toString());
+            }
+            command.add("-o");
+            command.add(storagePath.resolve(trackId + ".%(ext)s").toString());
+            command.add("--print");
+            command.add("after_move:" + SOURCE_PRINT_PREFIX + "%(ext)s|%(acodec)s|%(filepath)s");
+        } else {
+            command.add("--skip-download");
+        }
+        if (writeThumbnail) {
+            command.add("--write-thumbnail");
+            command.add("-o");
+            command.add("thumbnail:" + thumbnailPath.resolve(trackId) + ".%(ext)s");
+            // before_dl runs once the thumbnail is written, ahead of the audio download
+            command.add("--print");
+            command.add("before_dl:" + THUMBNAIL_PRINT_PREFIX);
+        }
+        command.addAll(getYtDlpMetadataArgs());
+        if (downloadAudio || writeThumbnail) {
+            command.addAll(getYtDlpArgs());
         }
         command.add(url);
+
+        plugin.getLogger().at(Level.INFO).log("Executing yt-dlp command: %s", String.join(" ", command));
+
         ProcessBuilder pb = new ProcessBuilder(command);
         pb.redirectErrorStream(true);
-
         Process process;
         try {
             process = pb.start();
         } catch (IOException e) {
-            throw new RuntimeException("yt-dlp not available for metadata fetch. Embedded yt-dlp failed to execute.", e);
+            throw new RuntimeException("yt-dlp not available. Embedded yt-dlp failed to execute.", e);
         }
-        StringBuilder jsonOutput = new StringBuilder();
+
+        StringBuilder output = new StringBuilder();
+        MediaInfo metadata = null;
+        String sourceLine = null;
         try (java.util.Scanner s = new java.util.Scanner(process.getInputStream())) {
             while (s.hasNextLine()) {
-                jsonOutput.append(s.nextLine()).append('\n');
+                String line = s.nextLine();
+                if (line.startsWith(METADATA_PRINT_PREFIX) && metadata == null) {
+                    metadata = parseMetadata(line.substring(METADATA_PRINT_PREFIX.length()), url, trackId);
+                    if (onMetadata != null) {
+                        onMetadata.accept(metadata);
+                    }
+                    continue;
+                }
+                if (line.startsWith(SOURCE_PRINT_PREFIX)) {
+                    sourceLine = line.substring(SOURCE_PRINT_PREFIX.length());
+                    continue;
+                }
+                if (line.startsWith(THUMBNAIL_PRINT_PREFIX)) {
+                    if (onThumbnailWritten != null) {
+                        onThumbnailWritten.run();
+                    }
+                    continue;
+                }
+                output.append(line).append('\n');
+                plugin.getLogger().at(Level.INFO).log("[yt-dlp] %s", line);
             }
         }
 
         int exitCode = process.waitFor();
         if (exitCode != 0) {
-            String combined = jsonOutput.toString();
-            if (combined.contains("HTTP Error 403") || combined.contains("403: Forbidden")
-                    || combined.contains("ERROR: Unable to download JSON metadata: HTTP Error 403")) {
-                throw new RuntimeException(
-                        "yt-dlp received HTTP 403 (Forbidden). This can be caused by the specific URL, region/IP blocks, "
-                                + "or the embedded yt-dlp being outdated. Try another URL to confirm. If it only fails on "
-                                + "one song, the source is likely blocked. Otherwise update MediaRadio/media-tools or wait "
-                                + "for an update. Report the URL and logs if it persists.");
-            }
-            throw new RuntimeException("yt-dlp metadata fetch failed code " + exitCode);
-        }
-
-        String raw = jsonOutput.toString();
-        String extracted = extractJsonObject(raw);
-        com.google.gson.stream.JsonReader reader = new com.google.gson.stream.JsonReader(
-                new java.io.StringReader(extracted));
-        reader.setLenient(true);
-        JsonObject root;
-        try {
-            root = com.google.gson.JsonParser.parseReader(reader).getAsJsonObject();
+            throw ytDlpFailure(output.toString(), exitCode);
+        }
+        if (metadata == null) {
+            throw new RuntimeException("yt-dlp did not report metadata for " + trackId);
+        }
+
+        if (downloadAudio) {
+            if (sourceLine == null) {
+                throw new RuntimeException("yt-dlp did not report the downloaded file for " + trackId);
+            }
+            String[] parts = sourceLine.split("\\|", 3);
+            Path outputPath = parts.length == 3 ? Paths.get(parts[2].trim()) : null;
+            if (outputPath == null || !Files.exists(outputPath)) {
+                throw new RuntimeException("Output file not found: " + (outputPath != null ? outputPath : sourceLine));
+            }
+            recordStoredSource(trackId, outputPath, parts[0].trim(), parts[1].trim());
+        }
+
+        return metadata;
+    }
+
+    /**
+     * Reads title, uploader, thumbnail and duration from yt-dlp's metadata line in a single
+     * streaming pass, skipping anything else without building a tree.
+     */
+    private MediaInfo parseMetadata(String json, String url, String trackId) {
+        String title = "Unknown Title";
+        String uploader = "Unknown Artist";
+        String thumbnail = "";
+        long duration = 0;
+        try (com.google.gson.stream.JsonReader reader = new com.google.gson.stream.JsonReader(
+                new java.io.StringReader(json))) {
+            reader.setLenient(true);
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                if (reader.peek() == com.google.gson.stream.JsonToken.NULL) {
+                    reader.skipValue();
+                    continue;
+                }
+                switch (name) {
+                    case "title" -> title = reader.nextString();
+                    case "uploader" -> uploader = reader.nextString();
+                    case "thumbnail" -> thumbnail = reader.nextString();
+                    // Fractional for some extractors
+                    case "duration" -> duration = (long) reader.nextDouble();
+                    default -> reader.skipValue();
+                }
+            }
         } catch (Exception e) {
-            String preview = raw.length() > 4000 ? raw.substring(0, 4000) + "...(truncated)" : raw;
+            String preview = json.length() > 4000 ? json.substring(0, 4000) + "...(truncated)" : json;
             plugin.getLogger().at(Level.WARNING).withCause(e)
                     .log("yt-dlp metadata JSON parse failed. Raw output (truncated): %s", preview);
-            throw e;
+            throw new RuntimeException("Failed to parse yt-dlp metadata for " + trackId, e);
         }
-        String title = root.has("title") ? root.get("title").getAsString() : "Unknown Title";
-        String uploader = root.has("uploader") ? root.get("uploader").getAsString() : "Unknown Artist";
-        String thumbnail = root.has("thumbnail") ? root.get("thumbnail").getAsString() : "";
-        long duration = root.has("duration") ? root.get("duration").getAsLong() : 0;
 
         return new MediaInfo(trackId, url, title, uploader, thumbnail, duration, 0, "");
     }
 
-    private String extractJsonObject(String raw) {
-        if (raw == null) {
-            return "{}";
-        }
-        int start = raw.indexOf('{');
-        int end = raw.lastIndexOf('}');
-        if (start >= 0 && end > start) {
-            return raw.substring(start, end + 1).trim();
+    private void downloadMedia(String url, String trackId) throws Exception {
+        runYtDlp(url, trackId, true, false, null, null);
+    }
+
+    /**
+     * Returns the stored source audio for a track, or null when nothing has been downloaded.
+     * Entries written before the source was kept natively have no {@code sourceFile} and
+     * live at {@code <trackId>.ogg}.
+     */
+    private Path resolveStoredAudio(String trackId) {
+        StoredSong stored = storedSongs.get(trackId);
+        if (stored != null && stored.sourceFile != null && !stored.sourceFile.isEmpty()) {
+            Path source = storagePath.resolve(stored.sourceFile);
+            if (Files.exists(source)) {
+                return source;
+            }
         }
-        return raw.trim();
+        Path legacy = storagePath.resolve(trackId + ".ogg");
+        return Files.exists(legacy) ? legacy : null;
     }
 
-    private void downloadMedia(String url, String trackId) throws Exception {
-        // Don't include extension in -o template - yt-dlp adds it automatically with
-        // --audio-format
-        Path outputPathBase = storagePath.resolve(trackId);
-        Path outputPathBaseOgg = storagePath.resolve(trackId + ".ogg");
-        Path expectedOutputPath = storagePath.resolve(trackId + ".ogg");
-
-        // Command: yt-dlp -x --audio-format vorbis --audio-quality 0 -o "trackId" "url"
-        // yt-dlp will create "trackId.ogg" after audio extraction
-        java.util.List<String> command = new java.util.ArrayList<>();
-        command.add(requireYtDlpCommand());
-        command.add("-x");
-        command.add("--audio-format");
-        command.add("vorbis");
-        command.add("--audio-quality");
-        command.add("0");
+    private void recordStoredSource(String trackId, Path sourcePath, String container, String codec) {
+        StoredSong stored = storedSongs.computeIfAbsent(trackId,
+                key -> new StoredSong(key, null, null, null, 0, CURRENT_NORMALIZATION_VERSION));
+        stored.sourceFile = sourcePath.getFileName().toString();
+        stored.container = container == null || container.isEmpty() || "NA".equals(container) ? null : container;
+        stored.codec = codec == null || codec.isEmpty() || "NA".equals(codec) ? null : codec;
+        saveSongIndex();
+        plugin.getLogger().at(Level.INFO).log("Stored source audio for %s: %s (%s/%s)", trackId,
+                stored.sourceFile, stored.getContainer(), stored.getCodec());
+    }
 
-        Path ffmpegLocation = mediaTools.getFfmpegLocationForYtDlp();
-        if (ffmpegLocation != null) {
-            command.add("--ffmpeg-location");
-            command.add(ffmpegLocation.toString());
+    private boolean canStreamIngest(MediaInfo mediaInfo) {
+        if (mediaInfo == null || mediaInfo.duration <= 0 || mediaInfo.url == null || mediaInfo.url.isEmpty()) {
+            return false;
         }
+        return plugin.getConfig() != null && plugin.getConfig().isStreamingIngest();
+    }
 
-        command.add("-o");
-        command.add(outputPathBase.toString());
+    /**
+     * Starts or joins the track's streaming ingest and waits for its preroll. Callers run on
+     * the DOWNLOAD stage (see {@link #prepareRuntimeAssetsAsync}), whose virtual threads
+     * park here without pinning a platform thread.
+     */
+    private int awaitStreamingIngest(MediaInfo mediaInfo, int chunkDurationMs, float volumeDb) {
+        String trackId = mediaInfo.trackId;
+        StreamingIngestJob job = streamingIngests.get(trackId);
+        if (job == null) {
+            int estimatedChunks = (int) Math.ceil(mediaInfo.duration * 1000.0 / Math.max(1, chunkDurationMs));
+            StreamingIngestJob created = new StreamingIngestJob(trackId, Math.max(1, estimatedChunks));
+            job = streamingIngests.putIfAbsent(trackId, created);
+            if (job == null) {
+                job = created;
+                startStreamingIngest(created, mediaInfo.url, chunkDurationMs, volumeDb);
+            }
+        }
+        try {
+            return job.preroll.join();
+        } catch (Exception e) {
+            plugin.getLogger().at(Level.WARNING).withCause(e)
+                    .log("Streaming ingest failed for %s", trackId);
+            return 0;
+        }
+    }
+
+    /**
+     * Pipes yt-dlp straight into ffmpeg, which encodes the normalized Ogg master to stdout.
+     * {@link OggChunker} cuts that stream into chunks page by page, so chunks are registered
+     * while the rest of the track is still downloading. The native source bytes and the
+     * master are teed to disk as they pass through and only moved into place when the whole
+     * pipeline succeeds.
+     */
+    private void startStreamingIngest(StreamingIngestJob job, String url, int chunkDurationMs, float volumeDb) {
+        String trackId = job.trackId;
+        Path partialAudio = storagePath.resolve(trackId + ".source.part");
+        Path partialMaster = storagePath.resolve(trackId + MASTER_DIR_SUFFIX + ".part");
+        Path cacheDir = resolveChunkCacheDir(trackId, chunkDurationMs);
+        Path partialCache = resolvePartialCacheDir(cacheDir);
+
+        java.util.List<String> ytDlpCommand = new java.util.ArrayList<>();
+        ytDlpCommand.add(requireYtDlpCommand());
+        ytDlpCommand.add("-f");
+        ytDlpCommand.add("bestaudio/best");
+        ytDlpCommand.add("--no-playlist");
+        ytDlpCommand.add("--no-progress");
+        ytDlpCommand.add("-o");
+        ytDlpCommand.add("-");
         java.util.List<String> extraArgs = getYtDlpArgs();
         if (!extraArgs.isEmpty()) {
-            command.addAll(extraArgs);
+            ytDlpCommand.addAll(extraArgs);
         }
-        command.add(url);
+        ytDlpCommand.add(url);
 
-        plugin.getLogger().at(Level.INFO).log("Executing yt-dlp command: %s", String.join(" ", command));
+        java.util.List<String> ffmpegCommand = java.util.List.of(
+                requireFfmpegCommand(),
+                "-hide_banner",
+                "-i", "pipe:0",
+                "-map", "0:a:0",
+                "-af", LOUDNORM_FILTER,
+                "-ac", "1",
+                "-c:a", "libvorbis",
+                "-q:a", "4",
+                "-page_duration", MASTER_PAGE_DURATION_US,
+                "-f", "ogg",
+                "pipe:1");
 
-        ProcessBuilder pb = new ProcessBuilder(command);
+        plugin.getLogger().at(Level.INFO).log("Streaming ingest for %s (~%d chunks): %s", trackId,
+                job.estimatedChunks, String.join(" ", ytDlpCommand));
 
-        pb.redirectErrorStream(true);
-        Process process;
+        Process ytDlp;
+        Process ffmpeg;
         try {
-            process = pb.start();
+            ytDlp = new ProcessBuilder(ytDlpCommand).start();
         } catch (IOException e) {
-            throw new RuntimeException("yt-dlp not available for media download. Embedded yt-dlp failed to execute.", e);
+            failStreamingIngest(job, partialAudio, new RuntimeException(
+                    "yt-dlp not available for media download. Embedded yt-dlp failed to execute.", e));
+            return;
+        }
+        try {
+            ffmpeg = new ProcessBuilder(ffmpegCommand).start();
+        } catch (IOException e) {
+            ytDlp.destroyForcibly();
+            failStreamingIngest(job, partialAudio, new RuntimeException(
+                    "ffmpeg not available for audio split. Embedded ffmpeg failed to execute.", e));
+            return;
         }
 
-        StringBuilder output = new StringBuilder();
-        // Read output to log
-        try (java.util.Scanner s = new java.util.Scanner(process.getInputStream())) {
-            while (s.hasNextLine()) {
-                String line = s.nextLine();
-                output.append(line).append('\n');
-                plugin.getLogger().at(Level.INFO).log("[yt-dlp] %s", line);
+        StringBuilder ytDlpOutput = new StringBuilder();
+        startWorker("MediaRadio-yt-dlp-log-" + trackId, () -> {
+            try (java.util.Scanner s = new java.util.Scanner(ytDlp.getErrorStream())) {
+                while (s.hasNextLine()) {
+                    String line = s.nextLine();
+                    synchronized (ytDlpOutput) {
+                        ytDlpOutput.append(line).append('\n');
+                    }
+                    plugin.getLogger().at(Level.INFO).log("[yt-dlp] %s", line);
+                }
             }
-        }
+        });
+        startWorker("MediaRadio-ffmpeg-log-" + trackId, () -> readSourceFormat(ffmpeg.getErrorStream(), job));
+        startWorker("MediaRadio-ingest-pump-" + trackId, () -> {
+            try (java.io.InputStream in = ytDlp.getInputStream();
+                    java.io.OutputStream out = ffmpeg.getOutputStream();
+                    java.io.OutputStream source = Files.newOutputStream(partialAudio)) {
+                byte[] buffer = new byte[64 * 1024];
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    source.write(buffer, 0, read);
+                    out.write(buffer, 0, read);
+                }
+            } catch (IOException e) {
+                // ffmpeg closed its input early; its exit code reports the failure.
+                ytDlp.destroy();
+            }
+        });
+        startWorker("MediaRadio-ingest-" + trackId, () -> {
+            try {
+                deleteDirectory(partialMaster);
+                Files.createDirectories(partialMaster);
+                deleteDirectory(partialCache);
+                Files.createDirectories(partialCache);
+                OggChunker chunker = new OggChunker(partialCache, trackId, chunkDurationMs, (index, samples) -> {
+                    linkCachedChunks(trackId, partialCache, null, index, index + 1);
+                    int closed = index + 1;
+                    if (!job.preroll.isDone()) {
+                        if (closed >= Math.min(job.estimatedChunks, residency.initialWindowChunks(chunkDurationMs))) {
+                            registerStreamedChunks(trackId, 0, closed, volumeDb);
+                            createTrackModel(trackId, Math.max(job.estimatedChunks, closed));
+                            job.preroll.complete(Math.max(job.estimatedChunks, closed));
+                        }
+                    } else {
+                        // Newly cut chunks enter the window as the playhead needs them
+                        residency.refresh(trackId);
+                    }
+                });
+                try (java.io.InputStream in = ffmpeg.getInputStream();
+                        java.io.OutputStream master = new java.io.BufferedOutputStream(
+                                Files.newOutputStream(partialMaster.resolve(masterPartName(0))))) {
+                    chunker.consume(in, master);
+                }
+                OggChunker.Result chunked = chunker.finish();
+                int closed = chunked.chunkCount;
+
+                int ffmpegExit = ffmpeg.waitFor();
+                int ytDlpExit = ytDlp.waitFor();
+                if (ytDlpExit != 0) {
+                    synchronized (ytDlpOutput) {
+                        throw ytDlpFailure(ytDlpOutput.toString(), ytDlpExit);
+                    }
+                }
+                if (ffmpegExit != 0) {
+                    throw new RuntimeException("ffmpeg exited with code " + ffmpegExit);
+                }
 
-        int exitCode = process.waitFor();
-        if (exitCode != 0) {
-            String combined = output.toString();
-            if (combined.contains("HTTP Error 403") || combined.contains("403: Forbidden")) {
-                throw new RuntimeException(
-                        "yt-dlp received HTTP 403 (Forbidden). This can be caused by the specific URL, region/IP blocks, "
-                                + "or the embedded yt-dlp being outdated. Try another URL to confirm. If it only fails on "
-                                + "one song, the source is likely blocked. Otherwise update MediaRadio/media-tools or wait "
-                                + "for an update. Report the URL and logs if it persists.");
+                if (closed <= 0) {
+                    throw new RuntimeException("Streaming ingest produced no chunks");
+                }
+                int chunkCount = completeChunkCache(trackId, partialCache, cacheDir, chunkDurationMs,
+                        chunked.sampleRate, chunked.chunkSamples).getChunkCount();
+                String container = resolveSourceExtension(job.demuxer);
+                Path storedAudio = storagePath.resolve(trackId + "." + container);
+                Files.move(partialAudio, storedAudio, java.nio.file.StandardCopyOption.REPLACE_EXISTING);
+                recordStoredSource(trackId, storedAudio, container, job.codec);
+                Path masterDir = resolveMasterDir(trackId);
+                deleteDirectory(masterDir);
+                Files.move(partialMaster, masterDir);
+
+                if (!job.preroll.isDone()) {
+                    registerStreamedChunks(trackId, 0, Math.min(chunkCount,
+                            residency.initialWindowChunks(chunkDurationMs)), volumeDb);
+                    createTrackModel(trackId, chunkCount);
+                    job.preroll.complete(chunkCount);
+                } else {
+                    if (chunkCount > job.estimatedChunks) {
+                        createTrackModel(trackId, chunkCount);
+                    }
+                    residency.refresh(trackId);
+                }
+                plugin.getLogger().at(Level.INFO).log("Streaming ingest complete for %s. Generated %d chunks.",
+                        trackId, chunkCount);
+                job.completion.complete(chunkCount);
+            } catch (Exception e) {
+                ytDlp.destroyForcibly();
+                ffmpeg.destroyForcibly();
+                failStreamingIngest(job, partialAudio, e);
+                deleteDirectory(partialMaster);
+                deleteDirectory(partialCache);
+            } finally {
+                streamingIngests.remove(trackId, job);
             }
-            throw new RuntimeException("yt-dlp exited with code " + exitCode);
+        });
+    }
+
+    private void registerStreamedChunks(String trackId, int startInclusive, int endExclusive, float volumeDb) {
+        if (endExclusive <= startInclusive) {
+            return;
         }
+        java.util.BitSet chunks = new java.util.BitSet();
+        chunks.set(startInclusive, endExclusive);
+        loadResidentChunks(trackId, chunks, java.util.Set.of(VolumeUtil.eventDbToStep(volumeDb)), 0);
+    }
+
+    private void failStreamingIngest(StreamingIngestJob job, Path partialAudio, Throwable error) {
+        plugin.getLogger().at(Level.WARNING).withCause(error).log("Streaming ingest failed for %s", job.trackId);
+        deleteFile(partialAudio);
+        streamingIngests.remove(job.trackId, job);
+        job.preroll.completeExceptionally(error);
+        job.completion.completeExceptionally(error);
+    }
+
+    private void readSourceFormat(java.io.InputStream stream, StreamingIngestJob job) {
+        try (java.io.BufferedReader reader = new java.io.BufferedReader(
+                new java.io.InputStreamReader(stream, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (job.demuxer == null) {
+                    java.util.regex.Matcher input = FFMPEG_INPUT_PATTERN.matcher(line);
+                    if (input.find()) {
+                        job.demuxer = input.group(1);
+                        continue;
+                    }
+                }
+                if (job.codec == null) {
+                    java.util.regex.Matcher audio = FFMPEG_AUDIO_PATTERN.matcher(line);
+                    if (audio.find()) {
+                        job.codec = audio.group(1);
+                    }
+                }
+            }
+        } catch (IOException ignored) {
+        }
+    }
 
-        // yt-dlp creates <name>.ogg when using --audio-format vorbis
-        if (!Files.exists(expectedOutputPath)) {
-            throw new RuntimeException("Output file not found: " + expectedOutputPath);
+    /**
+     * Maps an ffmpeg demuxer name (e.g. "matroska,webm") to the file extension yt-dlp
+     * would have used for the same stream.
+     */
+    private static String resolveSourceExtension(String demuxer) {
+        if (demuxer == null || demuxer.isEmpty()) {
+            return "bin";
+        }
+        if (demuxer.contains("webm")) {
+            return "webm";
         }
+        if (demuxer.contains("m4a")) {
+            return "m4a";
+        }
+        String first = demuxer.split(",")[0].trim();
+        return first.isEmpty() ? "bin" : first;
     }
 
-    private int splitAudio(String trackId, double segmentDuration) throws Exception {
-        Path inputFile = storagePath.resolve(trackId + ".ogg");
-        // Output pattern: trackId_Chunk_000.ogg
-        String outputPattern = commonAudioPath.resolve(trackId + "_Chunk_%03d.ogg").toString();
+    private void drainStream(java.io.InputStream stream) {
+        try (java.io.InputStream in = stream) {
+            in.transferTo(java.io.OutputStream.nullOutputStream());
+        } catch (IOException ignored) {
+        }
+    }
+
+    private void startWorker(String name, Runnable task) {
+        MediaExecutors.startStreamWorker(name, task);
+    }
+
+    private static RuntimeException ytDlpFailure(String output, int exitCode) {
+        if (output.contains("HTTP Error 403") || output.contains("403: Forbidden")) {
+            return new RuntimeException(
+                    "yt-dlp received HTTP 403 (Forbidden). This can be caused by the specific URL, region/IP blocks, "
+                            + "or the embedded yt-dlp being outdated. Try another URL to confirm. If it only fails on "
+                            + "one song, the source is likely blocked. Otherwise update MediaRadio/media-tools or wait "
+                            + "for an update. Report the URL and logs if it persists.");
+        }
+        return new RuntimeException("yt-dlp exited with code " + exitCode);
+    }
 
+    private static final class StreamingIngestJob {
+        private final String trackId;
+        private final int estimatedChunks;
+        // Chunk count playback starts with. While the ingest is still running this is only
+        // the duration-based estimate; the manifest's real count replaces it in every
+        // session once the ingest completes (see activateManifest).
+        private final CompletableFuture<Integer> preroll = new CompletableFuture<>();
+        private final CompletableFuture<Integer> completion = new CompletableFuture<>();
+        private volatile String demuxer;
+        private volatile String codec;
+
+        private StreamingIngestJob(String trackId, int estimatedChunks) {
+            this.trackId = trackId;
+            this.estimatedChunks = estimatedChunks;
+        }
+    }
+
+    private int splitAudio(String trackId, double segmentDuration) throws Exception {
         plugin.getLogger().at(Level.INFO).log("Splitting audio %s into %.1fms chunks...", trackId,
                 segmentDuration * 1000.0);
 
-        String ffmpegCommand = requireFfmpegCommand();
+        int chunkDurationMs = (int) Math.round(segmentDuration * 1000.0);
+        Path cacheDir = resolveChunkCacheDir(trackId, chunkDurationMs);
+        ChunkManifest cached = readCachedManifest(trackId, cacheDir, chunkDurationMs);
+        if (cached != null) {
+            plugin.getLogger().at(Level.INFO).log("Chunk cache hit for %s (%d chunks)", trackId,
+                    cached.getChunkCount());
+            linkCachedChunks(trackId, cacheDir, cached, 0, cached.getChunkCount());
+            activateManifest(trackId, cached);
+            return finishSplit(trackId);
+        }
 
-        ProcessBuilder pb = new ProcessBuilder(
-                ffmpegCommand,
+        // Re-chunking an already normalized master is pure page-level I/O; ffmpeg only runs
+        // when the master does not exist yet.
+        java.util.List<Path> masterParts = resolveMasterParts(trackId);
+        if (masterParts.isEmpty()) {
+            masterParts = encodeMaster(trackId, segmentDuration);
+        }
+        Path partialCache = resolvePartialCacheDir(cacheDir);
+        try {
+            deleteDirectory(partialCache);
+            Files.createDirectories(partialCache);
+            OggChunker.Result result = OggChunker.split(masterParts, partialCache, trackId, chunkDurationMs);
+            ChunkManifest manifest = completeChunkCache(trackId, partialCache, cacheDir, chunkDurationMs,
+                    result.sampleRate, result.chunkSamples);
+            linkCachedChunks(trackId, cacheDir, manifest, 0, result.chunkCount);
+            plugin.getLogger().at(Level.INFO).log("Cut %d chunks from %d master part(s) for %s", result.chunkCount,
+                    masterParts.size(), trackId);
+        } catch (IOException e) {
+            plugin.getLogger().at(Level.WARNING).withCause(e)
+                    .log("Ogg chunking failed for %s, discarding master and re-encoding chunks", trackId);
+            deleteDirectory(partialCache);
+            deleteChunkFiles(trackId);
+            deleteDirectory(resolveMasterDir(trackId));
+            splitAudioDirect(trackId, segmentDuration, cacheDir);
+        }
+
+        return finishSplit(trackId);
+    }
+
+    private void splitAudioDirect(String trackId, double segmentDuration, Path cacheDir) throws Exception {
+        Path inputFile = requireStoredAudio(trackId);
+        Path partialCache = resolvePartialCacheDir(cacheDir);
+        deleteDirectory(partialCache);
+        Files.createDirectories(partialCache);
+        // Output pattern: trackId_Chunk_000.ogg
+        String outputPattern = partialCache.resolve(trackId + "_Chunk_%03d.ogg").toString();
+        runFfmpeg(java.util.List.of(
+                requireFfmpegCommand(),
                 "-i", inputFile.toString(),
-                "-af", "loudnorm=I=-16:TP=-1.5:LRA=11",
+                "-af", LOUDNORM_FILTER,
                 "-map", "0:a:0",
                 "-f", "segment",
                 "-segment_time", String.valueOf(segmentDuration),
@@ -386,100 +943,528 @@ public class MediaManager {
                 "-ac", "1",
                 "-c:a", "libvorbis",
                 "-q:a", "4",
-                outputPattern);
+                outputPattern));
+        // Segment muxer output carries no per-chunk sample counts; the manifest probes each chunk.
+        ChunkManifest manifest = completeChunkCache(trackId, partialCache, cacheDir,
+                (int) Math.round(segmentDuration * 1000.0), 0, null);
+        linkCachedChunks(trackId, cacheDir, manifest, 0, manifest.getChunkCount());
+        plugin.getLogger().at(Level.INFO).log("Encoded %d chunks directly for %s", manifest.getChunkCount(),
+                trackId);
+    }
+
+    /**
+     * Encodes the normalized mono master from the stored source. Long tracks are encoded
+     * as N independent time ranges, each by its own ffmpeg process and each written as its
+     * own master part. Range lengths are whole multiples of the segment time so ranges
+     * start on a chunk boundary, and all ranges share one loudness measurement in linear
+     * mode so they are normalized identically. A measurement taken earlier for a seek
+     * window is reused, so the master matches the window's gain.
+     */
+    private java.util.List<Path> encodeMaster(String trackId, double segmentDuration) throws Exception {
+        Path inputFile = requireStoredAudio(trackId);
+        String ffmpegCommand = requireFfmpegCommand();
+        Path workDir = storagePath.resolve(SPLIT_WORK_DIR).resolve(trackId);
+        deleteDirectory(workDir);
+        Files.createDirectories(workDir);
+
+        int workers = resolveSplitWorkers();
+        StoredSong stored = storedSongs.get(trackId);
+        long knownDuration = stored != null ? stored.duration : 0;
+        boolean parallel = workers > 1 && knownDuration >= getParallelSplitMinSeconds();
+        LoudnessMeasurement loudness = parallel ? measureTrackLoudness(trackId, inputFile)
+                : loudnessMeasurements.get(trackId);
 
-        pb.redirectErrorStream(true);
-        Process process;
         try {
-            process = pb.start();
+            if (!parallel || loudness == null) {
+                String filter = loudness != null ? loudness.toLinearFilter() : LOUDNORM_FILTER;
+                runFfmpeg(buildMasterCommand(ffmpegCommand, inputFile.toString(), filter, -1, -1,
+                        workDir.resolve(masterPartName(0))));
+            } else {
+                double totalSeconds = loudness.durationSeconds > 0 ? loudness.durationSeconds : knownDuration;
+                encodeMasterParallel(trackId, inputFile, segmentDuration, totalSeconds, loudness, workers, workDir,
+                        ffmpegCommand);
+            }
+            Path masterDir = resolveMasterDir(trackId);
+            deleteDirectory(masterDir);
+            Files.move(workDir, masterDir);
+        } finally {
+            deleteDirectory(workDir);
+        }
+        return resolveMasterParts(trackId);
+    }
+
+    private void encodeMasterParallel(String trackId, Path inputFile, double segmentDuration, double totalSeconds,
+            LoudnessMeasurement loudness, int workers, Path workDir, String ffmpegCommand) throws Exception {
+        int estimatedChunks = Math.max(1, (int) Math.ceil(totalSeconds / segmentDuration));
+        int ranges = Math.max(1, Math.min(workers, estimatedChunks));
+        int chunksPerRange = (int) Math.ceil(estimatedChunks / (double) ranges);
+        String filter = loudness.toLinearFilter();
+
+        plugin.getLogger().at(Level.INFO).log("Parallel encode for %s: %d ranges of %d chunks (%.1fs total)",
+                trackId, ranges, chunksPerRange, totalSeconds);
+
+        // Ranges share the ENCODE stage with every other track's encodes, so the split worker
+        // setting caps ffmpeg processes across tracks. This method already holds an ENCODE
+        // thread, so it takes back any range no worker has started yet instead of waiting on
+        // the queue; it only ever waits for ranges that are already running.
+        executors.ensureThreads(MediaExecutors.Stage.ENCODE, workers);
+        java.util.List<Runnable> tasks = new java.util.ArrayList<>(ranges);
+        java.util.List<CompletableFuture<Void>> futures = new java.util.ArrayList<>(ranges);
+        for (int range = 0; range < ranges; range++) {
+            double startSeconds = range * chunksPerRange * segmentDuration;
+            if (startSeconds >= totalSeconds) {
+                break;
+            }
+            double lengthSeconds = range < ranges - 1 ? chunksPerRange * segmentDuration : -1;
+            java.util.List<String> command = buildMasterCommand(ffmpegCommand, inputFile.toString(), filter,
+                    startSeconds, lengthSeconds, workDir.resolve(masterPartName(range)));
+            java.util.concurrent.atomic.AtomicBoolean claimed = new java.util.concurrent.atomic.AtomicBoolean();
+            CompletableFuture<Void> future = new CompletableFuture<>();
+            Runnable task = () -> {
+                if (!claimed.compareAndSet(false, true)) {
+                    return;
+                }
+                try {
+                    runFfmpeg(command);
+                    future.complete(null);
+                } catch (Exception e) {
+                    future.completeExceptionally(e);
+                }
+            };
+            tasks.add(task);
+            futures.add(future);
+            if (range > 0) {
+                executors.execute(MediaExecutors.Stage.ENCODE, MediaExecutors.Priority.PLAYBACK, task);
+            }
+        }
+        for (Runnable task : tasks) {
+            task.run();
+        }
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        } catch (java.util.concurrent.CompletionException e) {
+            throw new RuntimeException("Parallel encode failed for " + trackId, e.getCause());
+        }
+    }
+
+    private java.util.List<String> buildMasterCommand(String ffmpegCommand, String input, String filter,
+            double startSeconds, double lengthSeconds, Path output) {
+        java.util.List<String> command = new java.util.ArrayList<>();
+        command.add(ffmpegCommand);
+        command.add("-hide_banner");
+        command.add("-nostats");
+        if (startSeconds >= 0) {
+            command.add("-ss");
+            command.add(String.format(java.util.Locale.ROOT, "%.3f", startSeconds));
+        }
+        if (lengthSeconds > 0) {
+            command.add("-t");
+            command.add(String.format(java.util.Locale.ROOT, "%.3f", lengthSeconds));
+        }
+        command.add("-i");
+        command.add(input);
+        command.add("-map");
+        command.add("0:a:0");
+        command.add("-af");
+        command.add(filter);
+        command.add("-ac");
+        command.add("1");
+        command.add("-c:a");
+        command.add("libvorbis");
+        command.add("-q:a");
+        command.add("4");
+        command.add("-page_duration");
+        command.add(MASTER_PAGE_DURATION_US);
+        command.add("-f");
+        command.add("ogg");
+        command.add("-y");
+        command.add(output.toString());
+        return command;
+    }
+
+    /**
+     * Chunks are cached under {@code songs/chunk_cache/<trackId>/<key>}, where the key hashes
+     * everything that affects the chunk bytes. The runtime pack only holds hard links to
+     * these files, so restarts and {@link #cleanupRuntimeAssets} never discard the work and
+     * the same asset names keep the same bytes (client-side caches keep hitting).
+     */
+    private Path resolveChunkCacheDir(String trackId, int chunkDurationMs) {
+        String key = sha256Hex(trackId + "|" + chunkDurationMs + "|" + CURRENT_NORMALIZATION_VERSION + "|"
+                + CHUNK_ENCODER_PROFILE).substring(0, 16);
+        return storagePath.resolve(CHUNK_CACHE_DIR).resolve(trackId).resolve(key);
+    }
+
+    private static Path resolvePartialCacheDir(Path cacheDir) {
+        return cacheDir.resolveSibling(cacheDir.getFileName() + ".part");
+    }
+
+    /**
+     * Seek-window chunks are kept next to the cache entry they stand in for, and dropped
+     * with the other stale entries once the full set is published.
+     */
+    private static Path resolveWindowCacheDir(Path cacheDir) {
+        return cacheDir.resolveSibling(cacheDir.getFileName() + ".window");
+    }
+
+    private ChunkManifest readCachedManifest(String trackId, Path cacheDir, int chunkDurationMs) {
+        ChunkManifest manifest = ChunkManifest.read(cacheDir.resolve(ChunkManifest.FILE_NAME));
+        if (manifest == null || manifest.getChunkCount() <= 0 || !manifest.matches(trackId, chunkDurationMs,
+                CURRENT_NORMALIZATION_VERSION, CHUNK_ENCODER_PROFILE)) {
+            return null;
+        }
+        // A single size check on the last chunk catches entries truncated outside our control.
+        int last = manifest.getChunkCount() - 1;
+        try {
+            Path lastChunk = cacheDir.resolve(String.format("%s_Chunk_%03d.ogg", trackId, last));
+            return Files.size(lastChunk) == manifest.getChunkSize(last) ? manifest : null;
         } catch (IOException e) {
-            throw new RuntimeException("ffmpeg not available for audio split. Embedded ffmpeg failed to execute.", e);
+            return null;
         }
+    }
 
-        // Read output
-        try (java.util.Scanner s = new java.util.Scanner(process.getInputStream()).useDelimiter("\\A")) {
-            while (s.hasNext()) {
-                // plugin.getLogger().at(Level.INFO).log("[ffmpeg] %s", s.next()); // Too noisy
-                s.next();
-            }
+    /**
+     * Publishes a fully written cache entry. The manifest is written last and the directory
+     * is renamed into place only after it exists, so an interrupted split is never reused.
+     * The new manifest becomes the track's active one.
+     */
+    private ChunkManifest completeChunkCache(String trackId, Path partialCache, Path cacheDir, int chunkDurationMs,
+            int timeBase, long[] chunkDurations) throws IOException {
+        int chunkCount = chunkDurations != null ? chunkDurations.length : countChunkFiles(trackId, partialCache);
+        ChunkManifest manifest = ChunkManifest.build(trackId, partialCache, chunkCount, chunkDurationMs,
+                CURRENT_NORMALIZATION_VERSION, CHUNK_ENCODER_PROFILE, timeBase, chunkDurations);
+        manifest.write(partialCache.resolve(ChunkManifest.FILE_NAME));
+        deleteDirectory(cacheDir);
+        Files.move(partialCache, cacheDir);
+        // Entries for other chunk durations or encoder profiles are stale once a new one exists.
+        try (java.util.stream.Stream<Path> entries = Files.list(cacheDir.getParent())) {
+            entries.filter(entry -> !entry.equals(cacheDir) && !entry.getFileName().toString().endsWith(".part"))
+                    .forEach(this::deleteDirectory);
         }
+        activateManifest(trackId, manifest);
+        return manifest;
+    }
 
-        int exitCode = process.waitFor();
-        if (exitCode != 0) {
-            throw new RuntimeException("ffmpeg exited with code " + exitCode);
+    private void activateManifest(String trackId, ChunkManifest manifest) {
+        chunkManifests.put(trackId, manifest);
+        if (plugin.getPlaybackManager() != null) {
+            plugin.getPlaybackManager().updateTrackTimeline(trackId, manifest);
         }
+    }
 
-        // Count generated chunks
-        int chunkCount = 0;
-        while (Files.exists(commonAudioPath.resolve(String.format("%s_Chunk_%03d.ogg", trackId, chunkCount)))) {
-            Path chunkPath = commonAudioPath.resolve(String.format("%s_Chunk_%03d.ogg", trackId, chunkCount));
-            // Touch file to trigger watcher
+    /**
+     * Counts the chunks ffmpeg's segment muxer wrote, which come without a manifest, in one
+     * directory listing.
+     */
+    private static int countChunkFiles(String trackId, Path dir) throws IOException {
+        return listChunkFiles(trackId, dir).size();
+    }
+
+    private static java.util.List<Path> listChunkFiles(String trackId, Path dir) throws IOException {
+        java.util.List<Path> chunks = new java.util.ArrayList<>();
+        try (java.nio.file.DirectoryStream<Path> stream = Files.newDirectoryStream(dir,
+                trackId + "_Chunk_[0-9][0-9][0-9]*.ogg")) {
+            stream.forEach(chunks::add);
+        }
+        return chunks;
+    }
+
+    /**
+     * Links chunks of a cache entry into the runtime pack. A runtime file that is not the
+     * cached chunk (a seek-window chunk, or a leftover of a failed ingest) is replaced
+     * atomically and its common asset registered again with the new hash, so the pack
+     * always serves the bytes {@code manifest} describes. The manifest is null while an
+     * ingest is still cutting the entry.
+     */
+    private void linkCachedChunks(String trackId, Path cacheDir, ChunkManifest manifest, int startInclusive,
+            int endExclusive) throws IOException {
+        for (int i = startInclusive; i < endExclusive; i++) {
+            String fileName = String.format("%s_Chunk_%03d.ogg", trackId, i);
+            Path cached = cacheDir.resolve(fileName);
+            Path runtime = commonAudioPath.resolve(fileName);
+            if (!Files.exists(cached)) {
+                continue;
+            }
+            if (!Files.exists(runtime)) {
+                linkOrCopy(cached, runtime);
+                continue;
+            }
+            if (isSameChunk(runtime, cached, manifest, i)) {
+                continue;
+            }
+            Path temp = runtime.resolveSibling(fileName + ".link");
             try {
-                Files.setLastModifiedTime(chunkPath,
-                        java.nio.file.attribute.FileTime.fromMillis(System.currentTimeMillis()));
-            } catch (IOException ignored) {
+                Files.deleteIfExists(temp);
+                linkOrCopy(cached, temp);
+                try {
+                    Files.move(temp, runtime, java.nio.file.StandardCopyOption.REPLACE_EXISTING,
+                            java.nio.file.StandardCopyOption.ATOMIC_MOVE);
+                } catch (java.nio.file.AtomicMoveNotSupportedException e) {
+                    Files.move(temp, runtime, java.nio.file.StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(temp);
             }
-            chunkCount++;
+            reregisterChunkAsset(runtime, "Sounds/media_radio/" + fileName, manifest, i);
         }
+    }
 
-        // Touch directory too
+    private static void linkOrCopy(Path cached, Path target) throws IOException {
         try {
-            Files.setLastModifiedTime(commonAudioPath,
-                    java.nio.file.attribute.FileTime.fromMillis(System.currentTimeMillis()));
-        } catch (IOException ignored) {
+            Files.createLink(target, cached);
+        } catch (IOException | UnsupportedOperationException e) {
+            Files.copy(cached, target);
         }
+    }
 
-        // Give watcher a moment
-        Thread.sleep(1000);
+    /**
+     * True if {@code runtime} is a hard link to {@code cached}, or a copy with the same size
+     * and contents.
+     */
+    private static boolean isSameChunk(Path runtime, Path cached, ChunkManifest manifest, int index)
+            throws IOException {
+        if (Files.isSameFile(runtime, cached)) {
+            return true;
+        }
+        long size = manifest != null ? manifest.getChunkSize(index) : Files.size(cached);
+        return Files.size(runtime) == size && Files.mismatch(runtime, cached) < 0;
+    }
 
-        plugin.getLogger().at(Level.INFO).log("Split complete. Generated %d chunks.", chunkCount);
-        return chunkCount;
+    private void reregisterChunkAsset(Path chunkPath, String assetName, ChunkManifest manifest, int index) {
+        CommonAssetModule commonAssetModule = CommonAssetModule.get();
+        if (commonAssetModule == null || !CommonAssetRegistry.hasCommonAsset(assetName)) {
+            return;
+        }
+        try {
+            LazyFileCommonAsset asset = manifest != null
+                    ? LazyFileCommonAsset.withHash(chunkPath, assetName, manifest.getChunkSha256(index),
+                            manifest.getChunkSize(index))
+                    : LazyFileCommonAsset.of(chunkPath, assetName);
+            commonAssetModule.addCommonAsset(RUNTIME_PACK_NAME, asset);
+        } catch (IOException e) {
+            plugin.getLogger().at(Level.WARNING).withCause(e).log("Failed to re-register sound asset %s", assetName);
+        }
     }
 
-    private void createSoundEvents(String trackId, int chunkCount) {
-        createSoundEvents(trackId, chunkCount, 0.0f);
+    private void deleteChunkCache(String trackId) {
+        deleteDirectory(storagePath.resolve(CHUNK_CACHE_DIR).resolve(trackId));
     }
 
-    private void createSoundEvents(String trackId, int chunkCount, float volumeDb) {
-        createSoundEventsRange(trackId, 0, chunkCount, volumeDb);
+    private Path resolveMasterDir(String trackId) {
+        return storagePath.resolve(trackId + MASTER_DIR_SUFFIX);
     }
 
-    private void createSoundEventsRange(String trackId, int startInclusive, int endExclusive, float volumeDb) {
-        if (endExclusive <= startInclusive) {
+    private static String masterPartName(int index) {
+        return String.format("part_%03d.ogg", index);
+    }
+
+    private java.util.List<Path> resolveMasterParts(String trackId) {
+        java.util.List<Path> parts = new java.util.ArrayList<>();
+        Path masterDir = resolveMasterDir(trackId);
+        Path part;
+        while (Files.exists(part = masterDir.resolve(masterPartName(parts.size())))) {
+            parts.add(part);
+        }
+        return parts;
+    }
+
+    private Path requireStoredAudio(String trackId) {
+        Path inputFile = resolveStoredAudio(trackId);
+        if (inputFile == null) {
+            throw new RuntimeException("Stored audio not found for " + trackId);
+        }
+        return inputFile;
+    }
+
+    /**
+     * Deletes the track's runtime chunks. The active manifest names them; the directory is
+     * only listed for a track that has none.
+     */
+    private void deleteChunkFiles(String trackId) {
+        ChunkManifest manifest = chunkManifests.get(trackId);
+        if (manifest != null) {
+            for (int index = 0; index < manifest.getChunkCount(); index++) {
+                deleteFile(commonAudioPath.resolve(String.format("%s_Chunk_%03d.ogg", trackId, index)));
+            }
             return;
         }
-        for (int i = startInclusive; i < endExclusive; i++) {
-            String chunkTrackId = String.format("%s_Chunk_%03d", trackId, i);
-            Path jsonPath = serverSoundEventsPath.resolve(chunkTrackId + ".json");
-            String soundFilePath = String.format("Sounds/media_radio/%s_Chunk_%03d.ogg", trackId, i);
-            writeSoundEventConfig(jsonPath, soundFilePath, volumeDb);
+        try {
+            listChunkFiles(trackId, commonAudioPath).forEach(this::deleteFile);
+        } catch (IOException e) {
+            plugin.getLogger().at(Level.WARNING).withCause(e).log("Failed to list chunks of %s", trackId);
+        }
+    }
+
+    private int resolveSplitWorkers() {
+        MediaRadioConfig config = plugin.getConfig();
+        if (config == null) {
+            return 1;
+        }
+        if (config.getSplitWorkers() > 0) {
+            return config.getSplitWorkers();
         }
-        plugin.getLogger().at(Level.INFO).log("Created SoundEvent configs for %s [%d..%d)", trackId,
-                startInclusive, endExclusive);
+        int cores = Runtime.getRuntime().availableProcessors();
+        return Math.max(1, cores - Math.max(0, config.getSplitWorkerReserve()));
+    }
+
+    private int getParallelSplitMinSeconds() {
+        MediaRadioConfig config = plugin.getConfig();
+        return config != null ? Math.max(0, config.getParallelSplitMinSeconds()) : Integer.MAX_VALUE;
+    }
+
+    /**
+     * The track's loudness measurement, taken once per source and shared by every encode.
+     */
+    private LoudnessMeasurement measureTrackLoudness(String trackId, Path inputFile) {
+        LoudnessMeasurement loudness = loudnessMeasurements.get(trackId);
+        if (loudness == null) {
+            loudness = measureLoudness(inputFile);
+            if (loudness != null) {
+                loudnessMeasurements.put(trackId, loudness);
+            }
+        }
+        return loudness;
+    }
+
+    /**
+     * First loudnorm pass over the whole source. Decoding is cheap next to the vorbis
+     * encode, and the result lets every parallel range apply the same linear gain.
+     */
+    private LoudnessMeasurement measureLoudness(Path inputFile) {
+        java.util.List<String> command = java.util.List.of(
+                requireFfmpegCommand(),
+                "-hide_banner",
+                "-nostats",
+                "-i", inputFile.toString(),
+                "-map", "0:a:0",
+                "-af", LOUDNORM_FILTER + ":print_format=json",
+                "-f", "null",
+                "-");
+        try {
+            String output = runFfmpeg(command);
+            int start = output.lastIndexOf('{');
+            int end = output.lastIndexOf('}');
+            if (start < 0 || end < start) {
+                return null;
+            }
+            JsonObject json = com.google.gson.JsonParser.parseString(output.substring(start, end + 1))
+                    .getAsJsonObject();
+            double durationSeconds = 0;
+            java.util.regex.Matcher matcher = FFMPEG_DURATION_PATTERN.matcher(output);
+            if (matcher.find()) {
+                durationSeconds = Integer.parseInt(matcher.group(1)) * 3600.0
+                        + Integer.parseInt(matcher.group(2)) * 60.0
+                        + Double.parseDouble(matcher.group(3));
+            }
+            return new LoudnessMeasurement(
+                    json.get("input_i").getAsString(),
+                    json.get("input_tp").getAsString(),
+                    json.get("input_lra").getAsString(),
+                    json.get("input_thresh").getAsString(),
+                    json.get("target_offset").getAsString(),
+                    durationSeconds);
+        } catch (Exception e) {
+            plugin.getLogger().at(Level.WARNING).withCause(e)
+                    .log("Loudness measurement failed for %s, using single-process split", inputFile);
+            return null;
+        }
+    }
+
+    private String runFfmpeg(java.util.List<String> command) throws Exception {
+        ProcessBuilder pb = new ProcessBuilder(command);
+        pb.redirectErrorStream(true);
+        Process process;
+        try {
+            process = pb.start();
+        } catch (IOException e) {
+            throw new RuntimeException("ffmpeg not available for audio split. Embedded ffmpeg failed to execute.", e);
+        }
+
+        String output = "";
+        try (java.util.Scanner s = new java.util.Scanner(process.getInputStream()).useDelimiter("\\A")) {
+            if (s.hasNext()) {
+                output = s.next();
+            }
+        }
+
+        int exitCode = process.waitFor();
+        if (exitCode != 0) {
+            throw new RuntimeException("ffmpeg exited with code " + exitCode);
+        }
+        return output;
+    }
+
+    private static final class LoudnessMeasurement {
+        private final String inputI;
+        private final String inputTp;
+        private final String inputLra;
+        private final String inputThresh;
+        private final String targetOffset;
+        private final double durationSeconds;
+
+        private LoudnessMeasurement(String inputI, String inputTp, String inputLra, String inputThresh,
+                String targetOffset, double durationSeconds) {
+            this.inputI = inputI;
+            this.inputTp = inputTp;
+            this.inputLra = inputLra;
+            this.inputThresh = inputThresh;
+            this.targetOffset = targetOffset;
+            this.durationSeconds = durationSeconds;
+        }
+
+        private String toLinearFilter() {
+            return LOUDNORM_FILTER
+                    + ":measured_I=" + inputI
+                    + ":measured_TP=" + inputTp
+                    + ":measured_LRA=" + inputLra
+                    + ":measured_thresh=" + inputThresh
+                    + ":offset=" + targetOffset
+                    + ":linear=true";
+        }
+    }
+
+    private int finishSplit(String trackId) {
+        // Chunks are registered and loaded explicitly; playback waits on chunk readiness
+        // rather than on the file watcher picking the files up.
+        int chunkCount = resolveChunkCount(trackId);
+        plugin.getLogger().at(Level.INFO).log("Split complete. Generated %d chunks.", chunkCount);
+        return chunkCount;
     }
 
-    private void writeSoundEventConfig(Path jsonPath, String soundFilePath, float volumeDb) {
-        Map<String, Object> layer = new HashMap<>();
-        layer.put("Files", Collections.singletonList(soundFilePath));
-        layer.put("Volume", VolumeUtil.percentToLayerDb(VolumeUtil.eventDbToPercent(volumeDb)));
+    /**
+     * Writes the SoundEvent of chunk {@code chunkIndex} at a volume step unless it is already
+     * on disk, and returns its path. The content depends only on the chunk and the step, so
+     * files written for an earlier play are reused as they are. SoundEvents reach the asset
+     * store as pack files: the store only takes new assets through
+     * {@code loadAssetsFromPaths}, which decodes them with the asset's codec and inheritance
+     * ({@code Parent}), and whole windows are loaded as one batch through
+     * {@link AssetLoadCoalescer}.
+     */
+    private Path writeSoundEventConfig(String trackId, int chunkIndex, int volumeStep) {
+        Path jsonPath = serverSoundEventsPath.resolve(chunkSoundEventId(trackId, chunkIndex, volumeStep) + ".json");
+        if (Files.exists(jsonPath)) {
+            return jsonPath;
+        }
+        float volumeDb = VolumeUtil.stepToEventDb(volumeStep);
+        float layerDb = VolumeUtil.percentToLayerDb(VolumeUtil.eventDbToPercent(volumeDb));
+        Map<String, Object> layer = new java.util.LinkedHashMap<>();
+        layer.put("Files", Collections.singletonList(
+                String.format("Sounds/media_radio/%s_Chunk_%03d.ogg", trackId, chunkIndex)));
+        layer.put("Volume", layerDb);
 
-        Map<String, Object> soundEvent = new HashMap<>();
+        Map<String, Object> soundEvent = new java.util.LinkedHashMap<>();
+        soundEvent.put("Parent", "SFX_Attn_Quiet");
         soundEvent.put("StartAttenuationDistance", 10);
         soundEvent.put("MaxDistance", 60);
         soundEvent.put("Volume", volumeDb);
-        soundEvent.put("Parent", "SFX_Attn_Quiet");
         soundEvent.put("Pitch", 0.0);
         soundEvent.put("Layers", Collections.singletonList(layer));
-
-        try (Writer writer = Files.newBufferedWriter(jsonPath)) {
-            GSON.toJson(soundEvent, writer);
+        try {
+            // Written atomically: an existing file is reused as it is, so it must never be partial
+            writeAtomically(jsonPath, GSON.toJson(soundEvent).getBytes(StandardCharsets.UTF_8));
         } catch (IOException e) {
             plugin.getLogger().at(Level.SEVERE).withCause(e).log("Failed to write SoundEvent at %s", jsonPath);
         }
-    }
-
-    private void registerCommonSoundAssets(String trackId, int chunkCount) {
-        registerCommonSoundAssetsRange(trackId, 0, chunkCount);
+        return jsonPath;
     }
 
     private void registerCommonSoundAssetsRange(String trackId, int startInclusive, int endExclusive) {
@@ -489,71 +1474,299 @@ public class MediaManager {
             return;
         }
 
+        ChunkManifest manifest = chunkManifests.get(trackId);
+        if (manifest != null) {
+            endExclusive = Math.min(endExclusive, manifest.getChunkCount());
+        }
+        int registered = 0;
         for (int i = startInclusive; i < endExclusive; i++) {
             String fileName = String.format("%s_Chunk_%03d.ogg", trackId, i);
             Path chunkPath = commonAudioPath.resolve(fileName);
-            if (!Files.exists(chunkPath)) {
-                continue;
-            }
             String assetName = "Sounds/media_radio/" + fileName;
             if (CommonAssetRegistry.hasCommonAsset(assetName)) {
                 continue;
             }
             try {
-                byte[] bytes = Files.readAllBytes(chunkPath);
-                commonAssetModule.addCommonAsset(RUNTIME_PACK_NAME, new FileCommonAsset(chunkPath, assetName, bytes));
+                // Chunk bytes are read from disk only when a client downloads them; the
+                // manifest already has the hash, so registering reads nothing.
+                long size = Files.size(chunkPath);
+                LazyFileCommonAsset asset = manifest != null && size == manifest.getChunkSize(i)
+                        ? LazyFileCommonAsset.withHash(chunkPath, assetName, manifest.getChunkSha256(i), size)
+                        : LazyFileCommonAsset.of(chunkPath, assetName);
+                commonAssetModule.addCommonAsset(RUNTIME_PACK_NAME, asset);
+                registered++;
+            } catch (java.nio.file.NoSuchFileException e) {
+                // Not cut yet (range preparation or streaming ingest still running)
             } catch (IOException e) {
                 plugin.getLogger().at(Level.WARNING).withCause(e).log("Failed to register sound asset %s", assetName);
             }
         }
+        if (registered > 0) {
+            plugin.getLogger().at(Level.INFO).log("Registered %d chunk assets for %s; %s", registered, trackId,
+                    LazyFileCommonAsset.describeUsage());
+        }
     }
 
-    public void updateTrackVolume(String trackId, int chunkCount, float volumeDb) {
-        if (chunkCount <= 0) {
+    /**
+     * SoundEvent id of a chunk at a volume step. The default step is the plain chunk id, so
+     * tracks played at the default volume need no variants.
+     */
+    public static String chunkSoundEventId(String trackId, int chunkIndex, int volumeStep) {
+        String chunkTrackId = String.format("%s_Chunk_%03d", trackId, chunkIndex);
+        return volumeStep == VolumeUtil.DEFAULT_STEP ? chunkTrackId : chunkTrackId + volumeVariantSuffix(volumeStep);
+    }
+
+    /**
+     * Track model segment (marker appearance) holding the PlayChunk state of
+     * {@code chunkIndex} at the given volume step. Each segment covers
+     * {@link #MODEL_SEGMENT_CHUNKS} chunks; the marker switches segments as the playhead
+     * crosses a boundary.
+     */
+    public static String trackAppearanceId(String trackId, int chunkIndex, int volumeStep) {
+        String appearanceId = String.format("medradio_marker_%s_S%03d", trackId, chunkIndex / MODEL_SEGMENT_CHUNKS);
+        return volumeStep == VolumeUtil.DEFAULT_STEP ? appearanceId : appearanceId + volumeVariantSuffix(volumeStep);
+    }
+
+    private static String volumeVariantSuffix(int volumeStep) {
+        return String.format("_V%03d", volumeStep * VolumeUtil.STEP_PERCENT);
+    }
+
+    /**
+     * Makes chunks {@code [startInclusive, endExclusive)} playable at a non-default volume
+     * step. Each variant is a SoundEvent pointing at the same chunk audio with the step's
+     * volume, shared by every session at that step; the step also gets its own track model.
+     * Chunks already prepared, or whose default SoundEvent is not loaded yet, are skipped,
+     * so this is cheap to call repeatedly ahead of the playhead.
+     */
+    public void prepareVolumeVariant(String trackId, int volumeStep, int startInclusive, int endExclusive,
+            int totalChunks) {
+        if (volumeStep == VolumeUtil.DEFAULT_STEP || endExclusive <= startInclusive) {
             return;
         }
-        for (int i = 0; i < chunkCount; i++) {
-            updateChunkVolume(trackId, i, volumeDb);
+        ChunkReadiness base = readiness(trackId, VolumeUtil.DEFAULT_STEP);
+        java.util.BitSet wanted = new java.util.BitSet();
+        for (int i = Math.max(0, startInclusive); i < endExclusive; i++) {
+            if (base.isLoaded(i)) {
+                wanted.set(i);
+            }
+        }
+        java.util.List<Path> paths = new java.util.ArrayList<>();
+        java.util.BitSet claimed = claimVariantSoundEvents(trackId, volumeStep, wanted, paths);
+        if (!claimed.isEmpty()) {
+            loadSoundEventPaths(trackId, paths);
+            markSoundEventsLoaded(trackId, volumeStep, claimed);
         }
-        plugin.getLogger().at(Level.INFO).log("Updated volume for %s to %.1f dB", trackId, volumeDb);
+        ensureModelSegments(trackId, volumeStep, wanted, totalChunks);
     }
 
-    public void updateChunkVolume(String trackId, int chunkIndex, float volumeDb) {
-        String chunkTrackId = String.format("%s_Chunk_%03d", trackId, chunkIndex);
-        Path jsonPath = serverSoundEventsPath.resolve(chunkTrackId + ".json");
-        String soundFilePath = String.format("Sounds/media_radio/%s_Chunk_%03d.ogg", trackId, chunkIndex);
-        writeSoundEventConfig(jsonPath, soundFilePath, volumeDb);
+    /**
+     * Claims the variant SoundEvents of {@code chunks} not yet prepared by another caller,
+     * writes them and adds their paths to {@code paths} for the caller to load.
+     */
+    private java.util.BitSet claimVariantSoundEvents(String trackId, int volumeStep, java.util.BitSet chunks,
+            java.util.List<Path> paths) {
+        java.util.BitSet claimed = readiness(trackId, volumeStep).claim(chunks);
+        for (int i = claimed.nextSetBit(0); i >= 0; i = claimed.nextSetBit(i + 1)) {
+            paths.add(writeSoundEventConfig(trackId, i, volumeStep));
+        }
+        return claimed;
     }
 
-    private void loadSoundEventAssets(String trackId, int chunkCount) {
-        loadSoundEventAssetsRange(trackId, 0, chunkCount);
+    public CompletableFuture<Void> prepareVolumeVariantAsync(String trackId, int volumeStep, int startInclusive,
+            int endExclusive, int totalChunks) {
+        if (volumeStep == VolumeUtil.DEFAULT_STEP) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return executors.run(MediaExecutors.Stage.REGISTER, MediaExecutors.Priority.PLAYBACK,
+                () -> prepareVolumeVariant(trackId, volumeStep, startInclusive, endExclusive, totalChunks));
     }
 
-    private void loadSoundEventAssetsRange(String trackId, int startInclusive, int endExclusive) {
-        if (endExclusive <= startInclusive) {
+    private void loadSoundEventPaths(String trackId, java.util.List<Path> paths) {
+        try {
+            if (!soundEventLoads.load(paths)) {
+                // The batch may include other tracks; markSoundEventsLoaded checks each chunk
+                plugin.getLogger().at(Level.WARNING).log("Some SoundEvent assets failed to load for %s", trackId);
+            }
+        } catch (Exception e) {
+            plugin.getLogger().at(Level.WARNING).withCause(e).log("Failed to load SoundEvent assets for %s", trackId);
+        }
+    }
+
+    private void markSoundEventsLoaded(String trackId, int volumeStep, java.util.BitSet candidates) {
+        java.util.BitSet loaded = new java.util.BitSet();
+        for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+            if (SoundEvent.getAssetMap().getAsset(chunkSoundEventId(trackId, i, volumeStep)) != null) {
+                loaded.set(i);
+            }
+        }
+        java.util.BitSet failed = (java.util.BitSet) candidates.clone();
+        failed.andNot(loaded);
+        if (!failed.isEmpty()) {
+            // Release the claims so a later preparation retries them
+            readiness(trackId, volumeStep).evict(failed);
+        }
+        if (!loaded.isEmpty()) {
+            readiness(trackId, volumeStep).markLoaded(loaded);
+        }
+    }
+
+    private ChunkReadiness readiness(String trackId, int volumeStep) {
+        String key = volumeStep == VolumeUtil.DEFAULT_STEP ? trackId : trackId + volumeVariantSuffix(volumeStep);
+        return chunkReadiness.computeIfAbsent(key, ignored -> new ChunkReadiness());
+    }
+
+    /**
+     * Runs {@code callback} as soon as chunk {@code chunkIndex} has a loaded SoundEvent and
+     * the track model has its animation state: immediately if that is already the case,
+     * otherwise on the thread that finishes loading it. Also runs if the track's readiness
+     * is dropped first. Running the returned handle cancels the wait.
+     */
+    public Runnable whenChunkReady(String trackId, int chunkIndex, int volumeStep, Runnable callback) {
+        ChunkReadiness readiness = readiness(trackId, volumeStep);
+        if (!readiness.isReady(chunkIndex)) {
+            // Assets loaded before the bitmap existed (e.g. readiness dropped by a cleanup
+            // while the asset maps kept them) are picked up from the asset maps once.
+            if (!readiness.isLoaded(chunkIndex)
+                    && SoundEvent.getAssetMap().getAsset(chunkSoundEventId(trackId, chunkIndex, volumeStep)) != null) {
+                java.util.BitSet loaded = new java.util.BitSet();
+                loaded.set(chunkIndex);
+                readiness.markLoaded(loaded);
+            }
+            int segment = chunkIndex / MODEL_SEGMENT_CHUNKS;
+            if (!readiness.hasModelSegment(segment)
+                    && ModelAsset.getAssetMap().getAsset(trackAppearanceId(trackId, chunkIndex, volumeStep)) != null) {
+                readiness.markModelSegment(segment, segmentEnd(segment, Math.max(resolveChunkCount(trackId),
+                        chunkIndex + 1)));
+            }
+        }
+        return readiness.whenReady(chunkIndex, callback);
+    }
+
+    public boolean isChunkReady(String trackId, int chunkIndex, int volumeStep) {
+        String key = volumeStep == VolumeUtil.DEFAULT_STEP ? trackId : trackId + volumeVariantSuffix(volumeStep);
+        ChunkReadiness readiness = chunkReadiness.get(key);
+        return readiness != null && readiness.isReady(chunkIndex);
+    }
+
+    /**
+     * Moves {@code session}'s playhead in its track's resident chunk window.
+     */
+    public void updatePlayhead(PlaybackSession session) {
+        residency.update(session);
+    }
+
+    /**
+     * Counts {@code session} as a user of its track, keeping the track's assets alive.
+     */
+    public void retainTrack(PlaybackSession session) {
+        if (session.getTrackId() != null) {
+            trackGc.retain(session, session.getTrackId());
+        }
+    }
+
+    /**
+     * Drops the session's playhead and its reference to the track. The track's assets are
+     * evicted once it stays unused for the configured grace period.
+     */
+    public void releaseSession(PlaybackSession session) {
+        residency.release(session);
+        // Without a loaded config the defaults apply; a zero grace would evict on every stop
+        MediaRadioConfig config = plugin.getConfig() != null ? plugin.getConfig() : new MediaRadioConfig();
+        trackGc.release(session, config.getIdleTrackGraceSeconds() * 1000L, config.getMaxIdleTracks());
+    }
+
+    private void evictIdleTrack(String trackId) {
+        if (trackGc.isReferenced(trackId)) {
             return;
         }
-        int size = endExclusive - startInclusive;
-        java.util.List<Path> paths = new java.util.ArrayList<>(size);
-        for (int i = startInclusive; i < endExclusive; i++) {
-            String chunkTrackId = String.format("%s_Chunk_%03d", trackId, i);
-            Path jsonPath = serverSoundEventsPath.resolve(chunkTrackId + ".json");
-            if (Files.exists(jsonPath)) {
-                paths.add(jsonPath);
+        plugin.getLogger().at(Level.INFO).log("Evicting idle track %s", trackId);
+        cleanupRuntimeAssets(trackId);
+    }
+
+    java.util.BitSet residentChunks(String trackId) {
+        return readiness(trackId, VolumeUtil.DEFAULT_STEP).getLoaded();
+    }
+
+    /**
+     * Registers and loads the default SoundEvents of those {@code chunks} that are cut,
+     * plus their variants for each volume step in use, in a single asset store load.
+     */
+    void loadResidentChunks(String trackId, java.util.BitSet chunks, java.util.Set<Integer> volumeSteps,
+            int totalChunks) {
+        java.util.BitSet cut = new java.util.BitSet();
+        for (int i = chunks.nextSetBit(0); i >= 0; i = chunks.nextSetBit(i + 1)) {
+            if (Files.exists(commonAudioPath.resolve(String.format("%s_Chunk_%03d.ogg", trackId, i)))) {
+                cut.set(i);
             }
         }
-        if (paths.isEmpty()) {
+        if (cut.isEmpty()) {
             return;
         }
+        java.util.List<Path> paths = new java.util.ArrayList<>(cut.cardinality() * (1 + volumeSteps.size()));
+        for (int start = cut.nextSetBit(0); start >= 0; start = cut.nextSetBit(cut.nextClearBit(start))) {
+            int end = cut.nextClearBit(start);
+            registerCommonSoundAssetsRange(trackId, start, end);
+            for (int i = start; i < end; i++) {
+                paths.add(writeSoundEventConfig(trackId, i, VolumeUtil.DEFAULT_STEP));
+            }
+        }
+        Map<Integer, java.util.BitSet> variants = new HashMap<>();
+        for (int volumeStep : volumeSteps) {
+            if (volumeStep != VolumeUtil.DEFAULT_STEP) {
+                variants.put(volumeStep, claimVariantSoundEvents(trackId, volumeStep, cut, paths));
+            }
+        }
+        loadSoundEventPaths(trackId, paths);
+        markSoundEventsLoaded(trackId, VolumeUtil.DEFAULT_STEP, cut);
+        ensureModelSegments(trackId, VolumeUtil.DEFAULT_STEP, cut, totalChunks);
+        variants.forEach((volumeStep, claimed) -> {
+            markSoundEventsLoaded(trackId, volumeStep, claimed);
+            ensureModelSegments(trackId, volumeStep, cut, totalChunks);
+        });
+    }
+
+    /**
+     * Unloads {@code chunks} at every volume step and unregisters their audio. Returns
+     * false, leaving everything loaded, when the server cannot remove assets. A removal
+     * that fails is logged and the chunks stay resident, so the next window refresh
+     * tries them again.
+     */
+    boolean evictResidentChunks(String trackId, java.util.BitSet chunks) {
+        java.util.List<ChunkReadiness> steps = new java.util.ArrayList<>();
+        java.util.List<String> soundEventIds = new java.util.ArrayList<>();
+        for (Map.Entry<String, ChunkReadiness> entry : chunkReadiness.entrySet()) {
+            String key = entry.getKey();
+            if (!key.equals(trackId) && !key.startsWith(trackId + "_V")) {
+                continue;
+            }
+            String suffix = key.substring(trackId.length());
+            steps.add(entry.getValue());
+            for (int i = chunks.nextSetBit(0); i >= 0; i = chunks.nextSetBit(i + 1)) {
+                soundEventIds.add(String.format("%s_Chunk_%03d", trackId, i) + suffix);
+            }
+        }
+        if (soundEventIds.isEmpty()) {
+            return true;
+        }
         try {
-            AssetLoadResult<String, SoundEvent> result = SoundEvent.getAssetStore()
-                    .loadAssetsFromPaths(RUNTIME_PACK_NAME, paths, AssetUpdateQuery.DEFAULT, true);
-            if (result.hasFailed()) {
-                plugin.getLogger().at(Level.WARNING).log("Some SoundEvent assets failed to load for %s", trackId);
+            if (!AssetStoreCompat.removeStoreAssets(SoundEvent.getAssetStore(), RUNTIME_PACK_NAME, soundEventIds,
+                    AssetUpdateQuery.DEFAULT)) {
+                return false;
             }
-        } catch (Exception e) {
-            plugin.getLogger().at(Level.WARNING).withCause(e).log("Failed to load SoundEvent assets for %s", trackId);
+        } catch (IllegalStateException e) {
+            plugin.getLogger().at(Level.WARNING).withCause(e).log("Failed to unload %d chunks of %s, will retry",
+                    chunks.cardinality(), trackId);
+            return true;
+        }
+        for (ChunkReadiness readiness : steps) {
+            readiness.evict(chunks);
+        }
+        CommonAssetModule commonAssetModule = CommonAssetModule.get();
+        for (int i = chunks.nextSetBit(0); i >= 0; i = chunks.nextSetBit(i + 1)) {
+            removeCommonAsset(commonAssetModule, String.format("Sounds/media_radio/%s_Chunk_%03d.ogg", trackId, i));
         }
+        plugin.getLogger().at(Level.FINE).log("Evicted %d chunks of %s", chunks.cardinality(), trackId);
+        return true;
     }
 
     public CompletableFuture<Void> playSound(MediaInfo mediaInfo, PlayerRef playerRef, Store<EntityStore> store) {
@@ -565,91 +1778,307 @@ public class MediaManager {
         if (plugin.getPlaybackManager() != null) {
             volumeDb = plugin.getPlaybackManager().getPlayerVolume(playerRef.getUuid());
         }
-        prepareRuntimeAssetsAsync(mediaInfo, 750, volumeDb, true)
-                .thenAccept(totalChunks -> {
-            if (totalChunks <= 0) {
-                plugin.getLogger().at(Level.WARNING).log("No chunks available for %s", mediaInfo.trackId);
-                result.completeExceptionally(new RuntimeException("Failed to prepare media assets (0 chunks)"));
-                return;
+        prepareRuntimeAssetsAsync(mediaInfo, 750, volumeDb)
+                .thenAccept(totalChunks -> {
+            if (totalChunks <= 0) {
+                plugin.getLogger().at(Level.WARNING).log("No chunks available for %s", mediaInfo.trackId);
+                result.completeExceptionally(new RuntimeException("Failed to prepare media assets (0 chunks)"));
+                return;
+            }
+            store.getExternalData().getWorld().execute(() -> {
+                MediaInfo updated = withChunkCount(mediaInfo, totalChunks);
+                plugin.getPlaybackManager().playForPlayer(updated, playerRef, totalChunks,
+                        plugin.getConfig().getChunkDurationMs(), store);
+                result.complete(null);
+            });
+        }).exceptionally(ex -> {
+            result.completeExceptionally(ex);
+            return null;
+        });
+        return result;
+    }
+
+    public CompletableFuture<Void> playSoundAtBlock(MediaInfo mediaInfo, Vector3i blockPos, int chunkDurationMs,
+            Store<EntityStore> store) {
+        if (mediaInfo == null || blockPos == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        float volumeDb = VolumeUtil.percentToEventDb(VolumeUtil.DEFAULT_PERCENT);
+        if (plugin.getPlaybackManager() != null) {
+            volumeDb = plugin.getPlaybackManager().getBlockVolume(blockPos, store);
+        }
+        prepareRuntimeAssetsAsync(mediaInfo, chunkDurationMs, volumeDb).thenAccept(totalChunks -> {
+            if (totalChunks <= 0) {
+                plugin.getLogger().at(Level.WARNING).log("No chunks available for %s", mediaInfo.trackId);
+                result.completeExceptionally(new RuntimeException("Failed to prepare media assets (0 chunks)"));
+                return;
+            }
+            store.getExternalData().getWorld().execute(() -> {
+                MediaInfo updated = withChunkCount(mediaInfo, totalChunks);
+                plugin.getPlaybackManager().playAtBlock(updated, blockPos, chunkDurationMs, store);
+                result.complete(null);
+            });
+        }).exceptionally(ex -> {
+            result.completeExceptionally(ex);
+            return null;
+        });
+        return result;
+    }
+
+    public int getChunkCount(String trackId) {
+        return resolveChunkCount(trackId);
+    }
+
+    private CompletableFuture<Integer> prepareRuntimeAssetsAsync(MediaInfo mediaInfo, int chunkDurationMs,
+            float volumeDb) {
+        // A streamed track's preparation only waits for the ingest's preroll, which runs on its
+        // own stream workers. That wait parks a virtual DOWNLOAD thread instead of holding one
+        // of the few platform ENCODE threads that splits and encodes need.
+        MediaExecutors.Stage stage = willStreamIngest(mediaInfo) ? MediaExecutors.Stage.DOWNLOAD
+                : MediaExecutors.Stage.ENCODE;
+        return executors.supply(stage, MediaExecutors.Priority.PLAYBACK,
+                () -> prepareTrack(mediaInfo, chunkDurationMs, volumeDb));
+    }
+
+    private boolean willStreamIngest(MediaInfo mediaInfo) {
+        if (mediaInfo == null) {
+            return false;
+        }
+        return streamingIngests.containsKey(mediaInfo.trackId)
+                || (resolveStoredAudio(mediaInfo.trackId) == null && canStreamIngest(mediaInfo));
+    }
+
+    private TrackPreparation preparation(String trackId) {
+        return trackPreparations.computeIfAbsent(trackId, ignored -> new TrackPreparation());
+    }
+
+    /**
+     * Takes the track to READY, joining a preparation another caller already started.
+     */
+    private int prepareTrack(MediaInfo mediaInfo, int chunkDurationMs, float volumeDb) {
+        if (mediaInfo == null) {
+            return 0;
+        }
+        String trackId = mediaInfo.trackId;
+        try {
+            int chunkCount = preparation(trackId).advance(TrackPreparation.State.READY,
+                    () -> ensureRuntimeAssets(mediaInfo, chunkDurationMs, volumeDb));
+            int known = resolveChunkCount(trackId);
+            return known > 0 ? known : chunkCount;
+        } catch (Exception e) {
+            plugin.getLogger().at(Level.WARNING).withCause(e).log("Failed to prepare runtime assets for %s", trackId);
+            return 0;
+        }
+    }
+
+    /**
+     * Cuts the whole track into chunks once; concurrent and later callers share the result.
+     */
+    private int splitTrack(String trackId, int chunkDurationMs) throws Exception {
+        return preparation(trackId).advance(TrackPreparation.State.SPLITTING,
+                () -> splitAudio(trackId, Math.max(0.1, chunkDurationMs / 1000.0)));
+    }
+
+    /**
+     * Prepares only the chunks {@code [startInclusive, endExclusive)} so a seek can start
+     * playing without waiting for the whole track. With a finished master the whole track
+     * is cut from it, which costs less than any encode; otherwise the window is encoded
+     * from the requested position (see {@link #encodeChunkRange}). The rest of the track is
+     * filled in afterwards in the background. Completes with true once every chunk in the
+     * window has a loaded SoundEvent at the session's volume step.
+     */
+    public CompletableFuture<Boolean> prepareChunkRange(String trackId, int startInclusive, int endExclusive,
+            int chunkDurationMs, float volumeDb) {
+        int start = Math.max(0, startInclusive);
+        if (trackId == null || endExclusive <= start) {
+            return CompletableFuture.completedFuture(false);
+        }
+        int volumeStep = VolumeUtil.eventDbToStep(volumeDb);
+        String key = trackId + ":" + start + ":" + endExclusive + ":" + volumeStep;
+        return rangePreparations.computeIfAbsent(key, ignored -> executors.supply(MediaExecutors.Stage.ENCODE,
+                MediaExecutors.Priority.PLAYBACK, () -> {
+            if (isRangeLoaded(trackId, start, endExclusive, volumeStep)) {
+                return true;
+            }
+            try {
+                if (!isRangeOnDisk(trackId, start, endExclusive)) {
+                    if (!resolveMasterParts(trackId).isEmpty() && !streamingIngests.containsKey(trackId)) {
+                        // Re-chunking an existing master costs less than a single ffmpeg spawn.
+                        splitTrack(trackId, chunkDurationMs);
+                    } else {
+                        encodeChunkRange(trackId, start, endExclusive, chunkDurationMs);
+                    }
+                }
+                java.util.BitSet window = new java.util.BitSet();
+                window.set(start, endExclusive);
+                loadResidentChunks(trackId, window, java.util.Set.of(volumeStep), 0);
+                fillRemainingChunksAsync(trackId, chunkDurationMs);
+                return isRangeLoaded(trackId, start, endExclusive, volumeStep);
+            } catch (Exception e) {
+                plugin.getLogger().at(Level.WARNING).withCause(e)
+                        .log("Failed to prepare chunks %d-%d for %s", start, endExclusive - 1, trackId);
+                return false;
+            }
+        }).whenComplete((ready, err) -> rangePreparations.remove(key)));
+    }
+
+    public boolean isChunkLoaded(String trackId, int chunkIndex, int volumeStep) {
+        return SoundEvent.getAssetMap().getAsset(chunkSoundEventId(trackId, chunkIndex, volumeStep)) != null;
+    }
+
+    private boolean isRangeLoaded(String trackId, int startInclusive, int endExclusive, int volumeStep) {
+        for (int i = startInclusive; i < endExclusive; i++) {
+            if (!isChunkLoaded(trackId, i, volumeStep)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isRangeOnDisk(String trackId, int startInclusive, int endExclusive) {
+        for (int i = startInclusive; i < endExclusive; i++) {
+            if (!Files.exists(commonAudioPath.resolve(String.format("%s_Chunk_%03d.ogg", trackId, i)))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Encodes a seek window as a small Ogg master from the requested position and cuts it
+     * with {@link OggChunker}, so its chunks have the same page-aligned grid and, through
+     * the shared loudness measurement, the same linear gain as the full master. The source
+     * is the stored audio or, while the track is still streaming in, the remote media URL;
+     * the ingest's own chunks replace the window's as they are cut. Window chunks are kept
+     * in the chunk cache and survive restarts until the full set is published.
+     */
+    private void encodeChunkRange(String trackId, int startInclusive, int endExclusive, int chunkDurationMs)
+            throws Exception {
+        Path windowCache = resolveWindowCacheDir(resolveChunkCacheDir(trackId, chunkDurationMs));
+        if (!isRangeCached(trackId, windowCache, startInclusive, endExclusive)) {
+            double segmentSeconds = Math.max(0.1, chunkDurationMs / 1000.0);
+            String source;
+            LoudnessMeasurement loudness;
+            Path storedAudio = resolveStoredAudio(trackId);
+            if (storedAudio != null && !streamingIngests.containsKey(trackId)) {
+                source = storedAudio.toString();
+                loudness = measureTrackLoudness(trackId, storedAudio);
+            } else {
+                source = resolveDirectMediaUrl(trackId);
+                loudness = loudnessMeasurements.get(trackId);
+            }
+            String filter = loudness != null ? loudness.toLinearFilter() : LOUDNORM_FILTER;
+
+            Path workDir = storagePath.resolve(SPLIT_WORK_DIR).resolve(trackId + "_range_" + startInclusive);
+            deleteDirectory(workDir);
+            Files.createDirectories(workDir);
+            try {
+                Path windowMaster = workDir.resolve(masterPartName(0));
+                runFfmpeg(buildMasterCommand(requireFfmpegCommand(), source, filter, startInclusive * segmentSeconds,
+                        (endExclusive - startInclusive) * segmentSeconds, windowMaster));
+                OggChunker.Result result = OggChunker.split(java.util.List.of(windowMaster), workDir, trackId,
+                        chunkDurationMs, startInclusive);
+                Files.createDirectories(windowCache);
+                int end = Math.min(endExclusive, startInclusive + result.chunkCount);
+                for (int i = startInclusive; i < end; i++) {
+                    String fileName = String.format("%s_Chunk_%03d.ogg", trackId, i);
+                    // Moved, never rewritten in place: the old file may be linked into the pack
+                    Files.move(workDir.resolve(fileName), windowCache.resolve(fileName),
+                            java.nio.file.StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                deleteDirectory(workDir);
+            }
+        }
+        for (int i = startInclusive; i < endExclusive; i++) {
+            String fileName = String.format("%s_Chunk_%03d.ogg", trackId, i);
+            Path cached = windowCache.resolve(fileName);
+            Path runtime = commonAudioPath.resolve(fileName);
+            // Never replace a chunk the full split or the ingest has already produced.
+            if (Files.exists(cached) && !Files.exists(runtime)) {
+                linkOrCopy(cached, runtime);
+            }
+        }
+        plugin.getLogger().at(Level.INFO).log("Prepared seek window %d-%d for %s", startInclusive,
+                endExclusive - 1, trackId);
+    }
+
+    private static boolean isRangeCached(String trackId, Path dir, int startInclusive, int endExclusive) {
+        for (int i = startInclusive; i < endExclusive; i++) {
+            if (!Files.exists(dir.resolve(String.format("%s_Chunk_%03d.ogg", trackId, i)))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String resolveDirectMediaUrl(String trackId) throws Exception {
+        StoredSong stored = storedSongs.get(trackId);
+        if (stored == null || stored.url == null || stored.url.isEmpty()) {
+            throw new RuntimeException("No source URL known for " + trackId);
+        }
+        java.util.List<String> command = new java.util.ArrayList<>();
+        command.add(requireYtDlpCommand());
+        command.add("-f");
+        command.add("bestaudio/best");
+        command.add("--no-playlist");
+        command.add("--get-url");
+        java.util.List<String> extraArgs = getYtDlpArgs();
+        if (!extraArgs.isEmpty()) {
+            command.addAll(extraArgs);
+        }
+        command.add(stored.url);
+        Process process;
+        try {
+            process = new ProcessBuilder(command).start();
+        } catch (IOException e) {
+            throw new RuntimeException("yt-dlp not available for media download. Embedded yt-dlp failed to execute.", e);
+        }
+        startWorker("MediaRadio-yt-dlp-log-" + trackId, () -> drainStream(process.getErrorStream()));
+        String directUrl = null;
+        try (java.util.Scanner s = new java.util.Scanner(process.getInputStream())) {
+            while (s.hasNextLine()) {
+                String line = s.nextLine().trim();
+                if (directUrl == null && line.startsWith("http")) {
+                    directUrl = line;
+                }
             }
-            store.getExternalData().getWorld().execute(() -> {
-                MediaInfo updated = withChunkCount(mediaInfo, totalChunks);
-                plugin.getPlaybackManager().playForPlayer(updated, playerRef, totalChunks,
-                        plugin.getConfig().getChunkDurationMs(), store);
-                result.complete(null);
-            });
-        }).exceptionally(ex -> {
-            result.completeExceptionally(ex);
-            return null;
-        });
-        return result;
+        }
+        int exitCode = process.waitFor();
+        if (exitCode != 0 || directUrl == null) {
+            throw new RuntimeException("yt-dlp could not resolve a media URL for " + trackId);
+        }
+        return directUrl;
     }
 
-    public CompletableFuture<Void> playSoundAtBlock(MediaInfo mediaInfo, Vector3i blockPos, int chunkDurationMs,
-            Store<EntityStore> store) {
-        if (mediaInfo == null || blockPos == null) {
-            return CompletableFuture.completedFuture(null);
+    /**
+     * After a seek window has been prepared out of order, produce the full chunk set once so
+     * the rest of the track is available. Skipped while a streaming ingest is still filling
+     * the track in.
+     */
+    private void fillRemainingChunksAsync(String trackId, int chunkDurationMs) {
+        if (streamingIngests.containsKey(trackId) || chunkManifests.containsKey(trackId)) {
+            return;
         }
-        CompletableFuture<Void> result = new CompletableFuture<>();
-        float volumeDb = VolumeUtil.percentToEventDb(VolumeUtil.DEFAULT_PERCENT);
-        if (plugin.getPlaybackManager() != null) {
-            volumeDb = plugin.getPlaybackManager().getBlockVolume(blockPos, store);
+        CompletableFuture<Void> created = new CompletableFuture<>();
+        if (backgroundFills.putIfAbsent(trackId, created) != null) {
+            return;
         }
-        prepareRuntimeAssetsAsync(mediaInfo, chunkDurationMs, volumeDb, true).thenAccept(totalChunks -> {
-            if (totalChunks <= 0) {
-                plugin.getLogger().at(Level.WARNING).log("No chunks available for %s", mediaInfo.trackId);
-                result.completeExceptionally(new RuntimeException("Failed to prepare media assets (0 chunks)"));
-                return;
+        executors.run(MediaExecutors.Stage.ENCODE, MediaExecutors.Priority.PREFETCH, () -> {
+            try {
+                int chunkCount = splitTrack(trackId, chunkDurationMs);
+                if (chunkCount > 0) {
+                    createTrackModel(trackId, chunkCount);
+                    residency.refresh(trackId);
+                }
+            } catch (Exception e) {
+                plugin.getLogger().at(Level.WARNING).withCause(e).log("Background fill failed for %s", trackId);
+            } finally {
+                backgroundFills.remove(trackId, created);
+                created.complete(null);
             }
-            store.getExternalData().getWorld().execute(() -> {
-                MediaInfo updated = withChunkCount(mediaInfo, totalChunks);
-                plugin.getPlaybackManager().playAtBlock(updated, blockPos, chunkDurationMs, store);
-                result.complete(null);
-            });
-        }).exceptionally(ex -> {
-            result.completeExceptionally(ex);
-            return null;
         });
-        return result;
-    }
-
-    public int getChunkCount(String trackId) {
-        return resolveChunkCount(trackId);
-    }
-
-    private CompletableFuture<Integer> prepareRuntimeAssetsAsync(MediaInfo mediaInfo, int chunkDurationMs,
-            float volumeDb, boolean waitForFullAssets) {
-        return CompletableFuture
-                .supplyAsync(
-                        () -> ensureRuntimeAssets(mediaInfo, chunkDurationMs, volumeDb, waitForFullAssets),
-                        com.hypixel.hytale.server.core.HytaleServer.SCHEDULED_EXECUTOR)
-                .thenCompose(result -> {
-                    if (result == null || result.chunkCount <= 0) {
-                        return CompletableFuture.completedFuture(0);
-                    }
-                    if (result.remainingPlan == null) {
-                        return CompletableFuture.completedFuture(result.chunkCount);
-                    }
-                    if (!result.remainingPlan.waitForFullAssets) {
-                        startBackgroundSoundEventGeneration(
-                                result.remainingPlan.trackId,
-                                result.remainingPlan.startChunk,
-                                result.remainingPlan.totalChunks,
-                                result.remainingPlan.volumeDb);
-                        return CompletableFuture.completedFuture(result.chunkCount);
-                    }
-                    return generateRemainingSoundEventsAsync(
-                            result.remainingPlan.trackId,
-                            result.remainingPlan.startChunk,
-                            result.remainingPlan.totalChunks,
-                            result.remainingPlan.volumeDb,
-                            BACKGROUND_ASSET_DELAY_MS).thenApply(ignored -> {
-                                if (result.remainingPlan.createModelAfter) {
-                                    createTrackModel(result.remainingPlan.trackId, result.chunkCount);
-                                }
-                                return result.chunkCount;
-                            });
-                });
     }
 
     private MediaInfo withChunkCount(MediaInfo mediaInfo, int chunkCount) {
@@ -664,10 +2093,9 @@ public class MediaManager {
                 mediaInfo.thumbnailAssetPath);
     }
 
-    private AssetPreparation ensureRuntimeAssets(MediaInfo mediaInfo, int chunkDurationMs, float volumeDb,
-            boolean waitForFullAssets) {
+    private int ensureRuntimeAssets(MediaInfo mediaInfo, int chunkDurationMs, float volumeDb) {
         if (mediaInfo == null) {
-            return new AssetPreparation(0, null);
+            return 0;
         }
         String trackId = mediaInfo.trackId;
 
@@ -676,214 +2104,135 @@ public class MediaManager {
         if (stored != null && stored.version < CURRENT_NORMALIZATION_VERSION) {
             plugin.getLogger().at(Level.INFO).log("Normalizing existing track: %s (v%d -> v%d)",
                     trackId, stored.version, CURRENT_NORMALIZATION_VERSION);
-            cleanupRuntimeAssets(trackId);
+            releaseRuntimeAssets(trackId);
+            deleteDirectory(resolveMasterDir(trackId));
+            deleteChunkCache(trackId);
             stored.version = CURRENT_NORMALIZATION_VERSION;
             saveSongIndex();
         }
 
-        Path storedAudio = storagePath.resolve(trackId + ".ogg");
-        if (!Files.exists(storedAudio)) {
-            try {
-                downloadMedia(mediaInfo.url, trackId);
-            } catch (Exception e) {
-                plugin.getLogger().at(Level.WARNING).withCause(e)
-                        .log("Failed to download audio for %s", trackId);
-                return new AssetPreparation(0, null);
-            }
+        if (willStreamIngest(mediaInfo)) {
+            return awaitStreamingIngest(mediaInfo, chunkDurationMs, volumeDb);
+        }
+        TrackPreparation preparation = preparation(trackId);
+        try {
+            preparation.advance(TrackPreparation.State.DOWNLOADED, () -> {
+                if (resolveStoredAudio(trackId) == null) {
+                    downloadMedia(mediaInfo.url, trackId);
+                }
+                return 1;
+            });
+        } catch (Exception e) {
+            plugin.getLogger().at(Level.WARNING).withCause(e)
+                    .log("Failed to download audio for %s", trackId);
+            return 0;
         }
 
         int chunkCount = resolveChunkCount(trackId);
         if (chunkCount <= 0) {
             try {
-                double seconds = Math.max(0.1, chunkDurationMs / 1000.0);
-                chunkCount = splitAudio(trackId, seconds);
-                if (chunkCount > 0) {
-                    int initialBatch = Math.min(chunkCount, INITIAL_ASSET_BATCH);
-                    registerCommonSoundAssetsRange(trackId, 0, initialBatch);
-                    createSoundEventsRange(trackId, 0, initialBatch, volumeDb);
-                    loadSoundEventAssetsRange(trackId, 0, initialBatch);
-
-                    // Ensure appearances (Initial Batch)
-                    // With unified model, we just need to confirm the model is loaded (done in
-                    // createTrackModel)
-
-                    // Schedule background generation for the rest (SoundEvents still need partial
-                    // loading if we were lazier,
-                    // but we generated all SoundEvents above.
-                    // Wait, splitAudio generates files, createSoundEvents generates ALL jsons.
-                    // Implementation plan said: "splitAudio and createSoundEvents continue to run
-                    // in background"
-                    // but currently they run synchronously in `ensureRuntimeAssets` for the WHOLE
-                    // track if it's new.
-                    // The "Refactor for Buffered Streaming" task made them background?
-                    // Ah, I see `startBackgroundAssetGeneration` was calling
-                    // `createChunkAppearance`.
-                    // The splitting seems to happen all at once in `splitAudio` currently?
-                    // Wait, looking at lines 582: chunkCount = splitAudio(...)
-                    // This seems to process everything.
-                    // Let's look at `splitAudio` again. It splits the whole file.
-                    // So `chunkCount` is the TOTAL.
-
-                    // The previous code had:
-                    // int initialBatch = Math.min(chunkCount, 10);
-                    // loop createChunkAppearance...
-                    // if chunkCount > initialBatch -> startBackgroundAssetGeneration
-
-                    // Since we now generate ONE model with ALL keys, we just call createTrackModel
-                    // once.
-                    // We don't need background generation for APPEARANCES anymore.
-                    if (chunkCount > initialBatch) {
-                        return new AssetPreparation(
-                                chunkCount,
-                                new RemainingSoundEventsPlan(
-                                        trackId,
-                                        initialBatch,
-                                        chunkCount,
-                                        volumeDb,
-                                        waitForFullAssets,
-                                        waitForFullAssets));
-                    }
-                    // Create the Unified Model once all sound events exist.
-                    createTrackModel(trackId, chunkCount);
-                    return new AssetPreparation(chunkCount, null);
-
-                }
+                chunkCount = splitTrack(trackId, chunkDurationMs);
             } catch (Exception e) {
                 plugin.getLogger().at(Level.WARNING).withCause(e)
                         .log("Failed to prepare runtime assets for %s", trackId);
-                return new AssetPreparation(0, null);
+                return 0;
             }
-        } else {
-            // Check if model exists
-            String appearanceId = "medradio_marker_" + trackId;
-            if (ModelAsset.getAssetMap().getAsset(appearanceId) == null) {
-                int initialBatch = Math.min(chunkCount, INITIAL_ASSET_BATCH);
-                registerCommonSoundAssetsRange(trackId, 0, initialBatch);
-                // Ensure SoundEvents
-                if (!Files.exists(serverSoundEventsPath.resolve(String.format("%s_Chunk_%03d.json", trackId, 0)))) {
-                    createSoundEventsRange(trackId, 0, initialBatch, volumeDb);
-                }
-                loadSoundEventAssetsRange(trackId, 0, initialBatch);
-                if (chunkCount > initialBatch) {
-                    return new AssetPreparation(
-                            chunkCount,
-                            new RemainingSoundEventsPlan(
-                                    trackId,
-                                    initialBatch,
-                                    chunkCount,
-                                    volumeDb,
-                                    waitForFullAssets,
-                                    waitForFullAssets));
-                }
-                createTrackModel(trackId, chunkCount);
-                return new AssetPreparation(chunkCount, null);
+        } else if (ModelAsset.getAssetMap().getAsset(trackAppearanceId(trackId, 0, VolumeUtil.DEFAULT_STEP)) != null) {
+            // Already playing elsewhere; the new session's playhead pulls in its own window
+            return chunkCount;
+        }
+        if (chunkCount > 0) {
+            // Only the first window is loaded up front. The rest follows the playhead, see
+            // ChunkResidency.
+            int totalChunks = chunkCount;
+            try {
+                preparation.advance(TrackPreparation.State.PARTIALLY_REGISTERED, () -> {
+                    java.util.BitSet window = new java.util.BitSet();
+                    window.set(0, Math.min(totalChunks, residency.initialWindowChunks(chunkDurationMs)));
+                    loadResidentChunks(trackId, window, java.util.Set.of(VolumeUtil.eventDbToStep(volumeDb)),
+                            totalChunks);
+                    return totalChunks;
+                });
+            } catch (Exception e) {
+                plugin.getLogger().at(Level.WARNING).withCause(e)
+                        .log("Failed to register initial chunks for %s", trackId);
+                return 0;
             }
+            createTrackModel(trackId, chunkCount);
         }
-        return new AssetPreparation(chunkCount, null);
-    }
-
-    // Background generation is no longer needed for appearances since we generate
-    // the single model upfront.
-    // If we were splitting audio in background, that would be different, but
-    // splitAudio does it all.
-    // We'll keep the method empty or remove usage to satisfy the "remove loop"
-    // requirement.
-    private void startBackgroundAssetGeneration(String trackId, int startChunk, int totalChunks) {
-        // No-op for now as model contains all states
-    }
-
-    private CompletableFuture<Void> generateRemainingSoundEventsAsync(String trackId, int startChunk, int totalChunks,
-            float volumeDb, long delayMs) {
-        CompletableFuture<Void> completion = new CompletableFuture<>();
-        scheduleSoundEventChunk(trackId, startChunk, totalChunks, volumeDb, delayMs, completion);
-        return completion;
+        return chunkCount;
     }
 
-    private void scheduleSoundEventChunk(String trackId, int current, int totalChunks, float volumeDb, long delayMs,
-            CompletableFuture<Void> completion) {
-        if (current >= totalChunks) {
-            completion.complete(null);
-            return;
-        }
-        try {
-            int end = Math.min(totalChunks, current + BACKGROUND_ASSET_BATCH);
-            registerCommonSoundAssetsRange(trackId, current, end);
-            createSoundEventsRange(trackId, current, end, volumeDb);
-            loadSoundEventAssetsRange(trackId, current, end);
-            int next = end;
-            com.hypixel.hytale.server.core.HytaleServer.SCHEDULED_EXECUTOR.schedule(
-                    () -> scheduleSoundEventChunk(trackId, next, totalChunks, volumeDb, delayMs, completion),
-                    delayMs,
-                    java.util.concurrent.TimeUnit.MILLISECONDS);
-        } catch (Exception e) {
-            completion.completeExceptionally(e);
+    /**
+     * Builds the model segments every volume step in use needs for its loaded chunks (and
+     * the first segment), sized for a track of {@code totalChunks}. Segments built for a
+     * smaller estimate are rebuilt to cover the new length.
+     */
+    public void createTrackModel(String trackId, int totalChunks) {
+        ChunkManifest manifest = chunkManifests.get(trackId);
+        if (manifest != null) {
+            totalChunks = manifest.getChunkCount();
         }
-    }
-
-    private CompletableFuture<Void> startBackgroundSoundEventGeneration(String trackId, int startChunk, int totalChunks,
-            float volumeDb) {
-        return generateRemainingSoundEventsAsync(
-                trackId,
-                startChunk,
-                totalChunks,
-                volumeDb,
-                BACKGROUND_ASSET_DELAY_MS);
-    }
-
-    private static final class AssetPreparation {
-        private final int chunkCount;
-        private final RemainingSoundEventsPlan remainingPlan;
-
-        private AssetPreparation(int chunkCount, RemainingSoundEventsPlan remainingPlan) {
-            this.chunkCount = chunkCount;
-            this.remainingPlan = remainingPlan;
+        ChunkReadiness base = readiness(trackId, VolumeUtil.DEFAULT_STEP);
+        for (String key : chunkReadiness.keySet()) {
+            if (!key.equals(trackId) && !key.startsWith(trackId + "_V")) {
+                continue;
+            }
+            int volumeStep = key.equals(trackId) ? VolumeUtil.DEFAULT_STEP
+                    : Integer.parseInt(key.substring(trackId.length() + 2)) / VolumeUtil.STEP_PERCENT;
+            java.util.BitSet chunks = chunkReadiness.get(key).getLoaded();
+            if (volumeStep == VolumeUtil.DEFAULT_STEP) {
+                chunks.set(0);
+            }
+            for (int segment : chunkReadiness.get(key).getModelSegments()) {
+                chunks.set(segment * MODEL_SEGMENT_CHUNKS);
+            }
+            ensureModelSegments(trackId, volumeStep, chunks, totalChunks);
+        }
+        if (!base.hasModelSegment(0)) {
+            java.util.BitSet first = new java.util.BitSet();
+            first.set(0);
+            ensureModelSegments(trackId, VolumeUtil.DEFAULT_STEP, first, totalChunks);
+        }
+    }
+
+    /**
+     * Builds the model segments containing {@code chunks} at a volume step unless they are
+     * already built for the known track length.
+     */
+    private void ensureModelSegments(String trackId, int volumeStep, java.util.BitSet chunks, int totalChunks) {
+        int knownChunks = Math.max(totalChunks, resolveChunkCount(trackId));
+        ChunkReadiness readiness = readiness(trackId, volumeStep);
+        for (int i = chunks.nextSetBit(0); i >= 0; i = chunks.nextSetBit((i / MODEL_SEGMENT_CHUNKS + 1)
+                * MODEL_SEGMENT_CHUNKS)) {
+            int segment = i / MODEL_SEGMENT_CHUNKS;
+            int end = segmentEnd(segment, knownChunks);
+            if (end > segment * MODEL_SEGMENT_CHUNKS && readiness.claimModelSegment(segment, end)) {
+                createModelSegment(trackId, segment, end, volumeStep);
+            }
         }
     }
 
-    private static final class RemainingSoundEventsPlan {
-        private final String trackId;
-        private final int startChunk;
-        private final int totalChunks;
-        private final float volumeDb;
-        private final boolean waitForFullAssets;
-        private final boolean createModelAfter;
-
-        private RemainingSoundEventsPlan(String trackId, int startChunk, int totalChunks, float volumeDb,
-                boolean waitForFullAssets, boolean createModelAfter) {
-            this.trackId = trackId;
-            this.startChunk = startChunk;
-            this.totalChunks = totalChunks;
-            this.volumeDb = volumeDb;
-            this.waitForFullAssets = waitForFullAssets;
-            this.createModelAfter = createModelAfter;
-        }
+    /**
+     * End of a segment's chunks; a full segment while the track length is unknown.
+     */
+    private static int segmentEnd(int segment, int totalChunks) {
+        int fullEnd = (segment + 1) * MODEL_SEGMENT_CHUNKS;
+        return totalChunks > 0 ? Math.min(fullEnd, totalChunks) : fullEnd;
     }
 
-    public void createTrackModel(String trackId, int estimatedChunks) {
-        String appearanceId = "medradio_marker_" + trackId;
+    private void createModelSegment(String trackId, int segment, int endExclusive, int volumeStep) {
+        int start = segment * MODEL_SEGMENT_CHUNKS;
+        String appearanceId = trackAppearanceId(trackId, start, volumeStep);
         Path jsonPath = serverModelsPath.resolve(appearanceId + ".json");
 
-        // If it exists, we might want to update it if the chunk count has increased
-        // significantly,
-        // but for now, let's assume estimatedChunks covers it (or we can just overwrite
-        // if needed).
-        // To be safe and support growing files, we can just overwrite it if it's the
-        // initial generation,
-        // or check if we need to expand. For simplicity, we overwrite if it's the first
-        // batch,
-        // but for "estimatedChunks" we should probably pass the TOTAL expected chunks.
-
+        // Keys: PlayChunk<global chunk index>, so playback never needs to know the segment
         Map<String, Object> animationSets = new HashMap<>();
-
-        // Generate animation entries for ALL estimated chunks
-        // Keys: PlayChunk0, PlayChunk1, ...
-        for (int i = 0; i < estimatedChunks; i++) {
-            String chunkTrackId = String.format("%s_Chunk_%03d", trackId, i);
-
+        for (int i = start; i < endExclusive; i++) {
             Map<String, Object> animation = new HashMap<>();
             animation.put("Animation", "NPC/MediaRadio/Animations/radio_play.blockyanim");
             animation.put("Looping", false);
-            animation.put("SoundEventId", chunkTrackId);
+            animation.put("SoundEventId", chunkSoundEventId(trackId, i, volumeStep));
 
             Map<String, Object> animationSet = new HashMap<>();
             animationSet.put("Animations", Collections.singletonList(animation));
@@ -905,18 +2254,28 @@ public class MediaManager {
         } catch (IOException ignored) {
         }
 
-        try (Writer writer = Files.newBufferedWriter(jsonPath)) {
-            GSON.toJson(modelAsset, writer);
+        // A rebuilt segment is registered with its new hash before the server copy is
+        // replaced, and each copy is swapped in with a rename, never rewritten in place.
+        byte[] json = GSON.toJson(modelAsset).getBytes(StandardCharsets.UTF_8);
+        ChunkReadiness readiness = readiness(trackId, volumeStep);
+        try {
+            registerModelSegmentRevision(appearanceId, json);
+            writeAtomically(jsonPath, json);
         } catch (IOException e) {
             plugin.getLogger().at(Level.SEVERE).withCause(e).log("Failed to write ModelAsset for %s", appearanceId);
+            readiness.unclaimModelSegment(segment);
             return;
         }
 
-        registerCommonModelAsset(appearanceId, jsonPath);
         loadModelAsset(appearanceId);
+        if (ModelAsset.getAssetMap().getAsset(appearanceId) != null) {
+            readiness.markModelSegment(segment, endExclusive);
+        } else {
+            readiness.unclaimModelSegment(segment);
+        }
 
-        plugin.getLogger().at(Level.INFO).log("Created unified Track Model for %s with %d animation states", trackId,
-                estimatedChunks);
+        plugin.getLogger().at(Level.INFO).log("Created track model segment %s with %d animation states",
+                appearanceId, endExclusive - start);
     }
 
     private void registerCommonModelAsset(String appearanceId, Path existingPath) {
@@ -925,26 +2284,56 @@ public class MediaManager {
             return;
 
         String assetName = "NPC/Models/" + appearanceId + ".json";
-        if (CommonAssetRegistry.hasCommonAsset(assetName))
-            return;
-
         try {
-            byte[] bytes = Files.readAllBytes(existingPath);
-            commonAssetModule.addCommonAsset(RUNTIME_PACK_NAME, new FileCommonAsset(existingPath, assetName, bytes));
+            commonAssetModule.addCommonAsset(RUNTIME_PACK_NAME, LazyFileCommonAsset.of(existingPath, assetName));
         } catch (IOException e) {
             plugin.getLogger().at(Level.WARNING).withCause(e).log("Failed to register common model asset %s",
                     assetName);
         }
     }
 
+    /**
+     * Registers a model segment for clients, again whenever it is rebuilt. Every revision is
+     * served from its own content-addressed file that is never rewritten, so the advertised
+     * hash always matches the bytes a client downloads.
+     */
+    private void registerModelSegmentRevision(String appearanceId, byte[] json) throws IOException {
+        CommonAssetModule commonAssetModule = CommonAssetModule.get();
+        if (commonAssetModule == null)
+            return;
+
+        String hash = sha256Hex(json);
+        Path revision = modelRevisionsPath.resolve(appearanceId + "." + hash.substring(0, 16) + ".json");
+        if (!Files.exists(revision)) {
+            writeAtomically(revision, json);
+        }
+        String assetName = "NPC/Models/" + appearanceId + ".json";
+        commonAssetModule.addCommonAsset(RUNTIME_PACK_NAME,
+                LazyFileCommonAsset.withHash(revision, assetName, hash, json.length));
+    }
+
+    private static void writeAtomically(Path target, byte[] bytes) throws IOException {
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try {
+            Files.write(temp, bytes);
+            try {
+                Files.move(temp, target, java.nio.file.StandardCopyOption.REPLACE_EXISTING,
+                        java.nio.file.StandardCopyOption.ATOMIC_MOVE);
+            } catch (java.nio.file.AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, java.nio.file.StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
     private void loadModelAsset(String appearanceId) {
         Path jsonPath = serverModelsPath.resolve(appearanceId + ".json");
         if (!Files.exists(jsonPath))
             return;
 
         try {
-            ModelAsset.getAssetStore().loadAssetsFromPaths(RUNTIME_PACK_NAME, Collections.singletonList(jsonPath),
-                    AssetUpdateQuery.DEFAULT, true);
+            modelLoads.load(Collections.singletonList(jsonPath));
         } catch (Exception e) {
             plugin.getLogger().at(Level.WARNING).withCause(e).log("Failed to load ModelAsset %s", appearanceId);
         }
@@ -961,8 +2350,7 @@ public class MediaManager {
 
         String assetName = "NPC/MediaRadio/Animations/radio_play.blockyanim";
         try {
-            byte[] bytes = Files.readAllBytes(animPath);
-            commonAssetModule.addCommonAsset(RUNTIME_PACK_NAME, new FileCommonAsset(animPath, assetName, bytes));
+            commonAssetModule.addCommonAsset(RUNTIME_PACK_NAME, LazyFileCommonAsset.of(animPath, assetName));
             plugin.getLogger().atInfo().log("Successfully registered animation asset: " + assetName);
         } catch (IOException e) {
             plugin.getLogger().at(Level.WARNING).withCause(e).log("Failed to register radio_play animation");
@@ -973,9 +2361,8 @@ public class MediaManager {
         if (Files.exists(modelPath)) {
             String modelAssetName = "NPC/MISC/Empty.blockymodel";
             try {
-                byte[] bytes = Files.readAllBytes(modelPath);
                 commonAssetModule.addCommonAsset(RUNTIME_PACK_NAME,
-                        new FileCommonAsset(modelPath, modelAssetName, bytes));
+                        LazyFileCommonAsset.of(modelPath, modelAssetName));
             } catch (IOException e) {
                 plugin.getLogger().at(Level.WARNING).withCause(e).log("Failed to register Empty.blockymodel");
             }
@@ -986,9 +2373,8 @@ public class MediaManager {
         if (Files.exists(texturePath)) {
             String textureAssetName = "NPC/MISC/Empty.png";
             try {
-                byte[] bytes = Files.readAllBytes(texturePath);
                 commonAssetModule.addCommonAsset(RUNTIME_PACK_NAME,
-                        new FileCommonAsset(texturePath, textureAssetName, bytes));
+                        LazyFileCommonAsset.of(texturePath, textureAssetName));
             } catch (IOException e) {
                 plugin.getLogger().at(Level.WARNING).withCause(e).log("Failed to register Empty.png");
             }
@@ -1173,10 +2559,19 @@ public class MediaManager {
 
     public String getTrackIdForUrl(String url) {
         String normalizedUrl = normalizeUrl(url);
-        String hash;
+        String hash = sha256Hex(normalizedUrl).substring(0, 16);
+
+        return "Track_" + capitalizeFirst(hash);
+    }
+
+    private static String sha256Hex(String value) {
+        return sha256Hex(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String sha256Hex(byte[] value) {
         try {
             MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            byte[] encodedhash = digest.digest(normalizedUrl.getBytes(StandardCharsets.UTF_8));
+            byte[] encodedhash = digest.digest(value);
             StringBuilder hexString = new StringBuilder(2 * encodedhash.length);
             for (int i = 0; i < encodedhash.length; i++) {
                 String hex = Integer.toHexString(0xff & encodedhash[i]);
@@ -1185,12 +2580,10 @@ public class MediaManager {
                 }
                 hexString.append(hex);
             }
-            hash = hexString.toString().substring(0, 16);
+            return hexString.toString();
         } catch (Exception e) {
             throw new RuntimeException("SHA-256 not supported", e);
         }
-
-        return "Track_" + capitalizeFirst(hash);
     }
 
     private String capitalizeFirst(String value) {
@@ -1289,46 +2682,164 @@ public class MediaManager {
         return Files.exists(thumbnailPath.resolve(trackId + ".png"));
     }
 
-    public CompletableFuture<String> ensureThumbnailAsync(String url, String trackId) {
-        return CompletableFuture.supplyAsync(() -> ensureThumbnail(url, trackId));
-    }
-
+    /**
+     * Fetches thumbnails missing from the library in the background, a few tracks at a
+     * time at background priority, so a large library does not start a burst of yt-dlp
+     * processes. Library updates are saved in batches. Thumbnails stored before in-process
+     * resizing are shrunk here too, off the world thread. Nothing is registered here; a
+     * thumbnail is registered the first time a page shows it, see
+     * {@link #registerThumbnail(String)}.
+     */
     public void warmThumbnails(MediaLibrary library) {
         if (library == null) {
             return;
         }
+        // Distinct tracks still missing a thumbnail, trackId -> url
+        Map<String, String> missing = new java.util.LinkedHashMap<>();
+        java.util.Set<String> stored = new java.util.LinkedHashSet<>();
+        boolean changed = false;
         for (MediaLibrary.SavedSong song : library.getAllSongs()) {
             if (song.url == null || song.url.isEmpty()) {
                 continue;
             }
             String trackId = song.trackId != null ? song.trackId : getTrackIdForUrl(song.url);
             if (hasThumbnail(trackId)) {
+                stored.add(trackId);
                 if (song.thumbnailAssetPath == null || song.thumbnailAssetPath.isEmpty()) {
                     song.trackId = trackId;
                     song.thumbnailAssetPath = getThumbnailAssetPath(trackId);
-                    library.save();
+                    changed = true;
                 }
                 continue;
             }
+            missing.putIfAbsent(trackId, song.url);
+        }
+        if (changed) {
+            library.save();
+        }
+        if (!stored.isEmpty()) {
+            executors.run(MediaExecutors.Stage.ENCODE, MediaExecutors.Priority.BACKGROUND,
+                    () -> normalizeStoredThumbnails(stored));
+        }
+        if (missing.isEmpty()) {
+            return;
+        }
+        plugin.getLogger().at(Level.INFO).log("Warming %d missing thumbnails", missing.size());
+        ThumbnailWarmup warmup = new ThumbnailWarmup(library, missing.entrySet().iterator());
+        for (int i = 0; i < THUMBNAIL_WARMUP_CONCURRENCY; i++) {
+            warmNextThumbnail(warmup);
+        }
+    }
 
-            ensureThumbnailAsync(song.url, trackId).thenAccept(assetPath -> {
-                if (assetPath == null || assetPath.isEmpty()) {
-                    return;
+    private static final class ThumbnailWarmup {
+        private final MediaLibrary library;
+        private final java.util.Iterator<Map.Entry<String, String>> pending;
+        private int active;
+        private int unsaved;
+
+        private ThumbnailWarmup(MediaLibrary library, java.util.Iterator<Map.Entry<String, String>> pending) {
+            this.library = library;
+            this.pending = pending;
+        }
+    }
+
+    private void warmNextThumbnail(ThumbnailWarmup warmup) {
+        Map.Entry<String, String> next;
+        synchronized (warmup) {
+            if (!warmup.pending.hasNext()) {
+                if (warmup.active == 0 && warmup.unsaved > 0) {
+                    warmup.unsaved = 0;
+                    warmup.library.save();
                 }
-                song.trackId = trackId;
-                song.thumbnailAssetPath = assetPath;
-                library.save();
-            });
+                return;
+            }
+            next = warmup.pending.next();
+            warmup.active++;
+        }
+        warmThumbnail(warmup, next.getKey(), next.getValue());
+    }
+
+    private void warmThumbnail(ThumbnailWarmup warmup, String trackId, String url) {
+        // Warming yields to requests players are waiting on, and backs off while the queue is full
+        executors.supply(MediaExecutors.Stage.METADATA, MediaExecutors.Priority.BACKGROUND,
+                () -> hasThumbnail(trackId) || fetchThumbnail(url, trackId))
+                .whenComplete((fetched, err) -> {
+                    if (err instanceof java.util.concurrent.RejectedExecutionException) {
+                        com.hypixel.hytale.server.core.HytaleServer.SCHEDULED_EXECUTOR.schedule(
+                                () -> warmThumbnail(warmup, trackId, url), THUMBNAIL_WARMUP_RETRY_SECONDS,
+                                TimeUnit.SECONDS);
+                        return;
+                    }
+                    boolean save = false;
+                    synchronized (warmup) {
+                        warmup.active--;
+                        if (Boolean.TRUE.equals(fetched)
+                                && warmup.library.updateThumbnail(url, trackId, getThumbnailAssetPath(trackId))) {
+                            save = ++warmup.unsaved >= THUMBNAIL_WARMUP_SAVE_BATCH;
+                            if (save) {
+                                warmup.unsaved = 0;
+                            }
+                        }
+                    }
+                    if (save) {
+                        warmup.library.save();
+                    }
+                    warmNextThumbnail(warmup);
+                });
+    }
+
+    /**
+     * Shrinks thumbnails stored before in-process resizing. One that a page registered in
+     * the meantime is left as it is, since its asset already describes those bytes.
+     */
+    private void normalizeStoredThumbnails(java.util.Collection<String> trackIds) {
+        int resized = 0;
+        for (String trackId : trackIds) {
+            Path pngPath = thumbnailPath.resolve(trackId + ".png");
+            if (CommonAssetRegistry.hasCommonAsset(getThumbnailAssetPath(trackId))
+                    || ThumbnailImage.isNormalized(pngPath)) {
+                continue;
+            }
+            try {
+                ThumbnailImage.writePng(pngPath, pngPath);
+                resized++;
+            } catch (IOException e) {
+                plugin.getLogger().at(Level.WARNING).withCause(e).log("Failed to resize thumbnail for %s", trackId);
+            }
+        }
+        if (resized > 0) {
+            plugin.getLogger().at(Level.INFO).log("Resized %d stored thumbnails", resized);
         }
     }
 
     private String ensureThumbnail(String url, String trackId) {
+        if (!hasThumbnail(trackId) && !fetchThumbnail(url, trackId)) {
+            return "";
+        }
+        return registerThumbnail(trackId);
+    }
+
+    /**
+     * Registers the track's stored thumbnail unless it already is, and returns its asset
+     * path, or an empty string when no thumbnail is stored. Pages call it on the world
+     * thread for every thumbnail they show, so it only checks the registry and that the
+     * file exists; resizing happens during warm-up, see {@link #warmThumbnails}.
+     */
+    public String registerThumbnail(String trackId) {
         Path pngPath = thumbnailPath.resolve(trackId + ".png");
-        if (Files.exists(pngPath)) {
-            registerThumbnailAsset(pngPath, getThumbnailAssetPath(trackId));
-            return getThumbnailAssetPath(trackId);
+        String assetPath = getThumbnailAssetPath(trackId);
+        if (!Files.exists(pngPath)) {
+            return "";
         }
+        registerThumbnailAsset(pngPath, assetPath);
+        return assetPath;
+    }
 
+    /**
+     * Downloads and converts the track's thumbnail without registering it. Returns true
+     * once the PNG is stored.
+     */
+    private boolean fetchThumbnail(String url, String trackId) {
         try {
             java.util.List<String> command = new java.util.ArrayList<>();
             command.add(requireYtDlpCommand());
@@ -1349,7 +2860,7 @@ public class MediaManager {
             } catch (IOException e) {
                 plugin.getLogger().at(Level.WARNING).withCause(e)
                         .log("yt-dlp not available for thumbnail download. Embedded yt-dlp failed to execute.");
-                return "";
+                return false;
             }
 
             String output = "";
@@ -1365,67 +2876,97 @@ public class MediaManager {
                     plugin.getLogger().at(Level.WARNING).log(
                             "yt-dlp thumbnail download failed (HTTP 403). This can be URL-specific or an IP/region block, "
                                     + "or the embedded yt-dlp may be outdated. Try another URL, then update or report.");
-                    return "";
+                    return false;
                 }
                 plugin.getLogger().at(Level.WARNING).log("yt-dlp thumbnail download failed code %d", exitCode);
-                return "";
+                return false;
             }
+            return convertThumbnail(trackId);
+        } catch (Exception e) {
+            plugin.getLogger().at(Level.WARNING).withCause(e).log("Failed to download thumbnail for %s", trackId);
+            return false;
+        }
+    }
+
+    /**
+     * Turns the thumbnail yt-dlp wrote for {@code trackId} into a small square PNG and
+     * registers it. Returns the asset path, or an empty string if there is no usable
+     * thumbnail.
+     */
+    private String finishThumbnail(String trackId) {
+        return convertThumbnail(trackId) ? registerThumbnail(trackId) : "";
+    }
 
+    private boolean convertThumbnail(String trackId) {
+        Path pngPath = thumbnailPath.resolve(trackId + ".png");
+        try {
             Path downloaded = findThumbnailFile(trackId);
             if (downloaded == null) {
                 plugin.getLogger().at(Level.WARNING).log("Thumbnail file not found for %s", trackId);
-                return "";
+                return false;
             }
 
-            if (!downloaded.getFileName().toString().endsWith(".png")) {
-                String ffmpegCommand = resolveFfmpegCommand();
-                if (ffmpegCommand == null) {
-                    plugin.getLogger().at(Level.WARNING).log("ffmpeg not available for thumbnail conversion.");
-                    return "";
-                }
-                ProcessBuilder ffmpeg = new ProcessBuilder(
-                        ffmpegCommand,
-                        "-y",
-                        "-i", downloaded.toString(),
-                        pngPath.toString());
-                ffmpeg.redirectErrorStream(true);
-                Process ffmpegProcess;
-                try {
-                    ffmpegProcess = ffmpeg.start();
-                } catch (IOException e) {
-                    plugin.getLogger().at(Level.WARNING).withCause(e)
-                            .log("ffmpeg not available for thumbnail conversion.");
-                    return "";
-                }
-                try (java.util.Scanner s = new java.util.Scanner(ffmpegProcess.getInputStream()).useDelimiter("\\A")) {
-                    while (s.hasNext()) {
-                        s.next();
-                    }
-                }
-                int ffmpegExit = ffmpegProcess.waitFor();
-                if (ffmpegExit != 0) {
-                    plugin.getLogger().at(Level.WARNING).log("ffmpeg thumbnail conversion failed code %d", ffmpegExit);
-                    return "";
-                }
-            } else if (!downloaded.equals(pngPath)) {
-                Files.move(downloaded, pngPath);
+            // Decoded and resized in process; ffmpeg only for formats ImageIO cannot read (WebP)
+            if (!ThumbnailImage.writePng(downloaded, pngPath) && !convertThumbnailWithFfmpeg(downloaded, pngPath)) {
+                return false;
             }
-
-            registerThumbnailAsset(pngPath, getThumbnailAssetPath(trackId));
-            return getThumbnailAssetPath(trackId);
+            if (!downloaded.equals(pngPath)) {
+                Files.deleteIfExists(downloaded);
+            }
+            return true;
         } catch (Exception e) {
-            plugin.getLogger().at(Level.WARNING).withCause(e).log("Failed to download thumbnail for %s", trackId);
-            return "";
+            plugin.getLogger().at(Level.WARNING).withCause(e).log("Failed to convert thumbnail for %s", trackId);
+            return false;
+        }
+    }
+
+    private boolean convertThumbnailWithFfmpeg(Path source, Path pngPath) throws InterruptedException {
+        String ffmpegCommand = resolveFfmpegCommand();
+        if (ffmpegCommand == null) {
+            plugin.getLogger().at(Level.WARNING).log("ffmpeg not available for thumbnail conversion.");
+            return false;
+        }
+        int size = ThumbnailImage.SIZE;
+        ProcessBuilder ffmpeg = new ProcessBuilder(
+                ffmpegCommand,
+                "-y",
+                "-i", source.toString(),
+                "-vf", "crop='min(iw,ih)':'min(iw,ih)',scale=" + size + ":" + size + ":flags=area",
+                "-frames:v", "1",
+                pngPath.toString());
+        ffmpeg.redirectErrorStream(true);
+        Process ffmpegProcess;
+        try {
+            ffmpegProcess = ffmpeg.start();
+        } catch (IOException e) {
+            plugin.getLogger().at(Level.WARNING).withCause(e)
+                    .log("ffmpeg not available for thumbnail conversion.");
+            return false;
+        }
+        drainStream(ffmpegProcess.getInputStream());
+        int ffmpegExit = ffmpegProcess.waitFor();
+        if (ffmpegExit != 0) {
+            plugin.getLogger().at(Level.WARNING).log("ffmpeg thumbnail conversion failed code %d", ffmpegExit);
+            return false;
         }
+        return true;
     }
 
     private Path findThumbnailFile(String trackId) throws IOException {
+        Path png = null;
         try (var stream = Files.newDirectoryStream(thumbnailPath, trackId + ".*")) {
             for (Path path : stream) {
-                return path;
+                String name = path.getFileName().toString();
+                if (name.endsWith(".tmp")) {
+                    continue;
+                }
+                if (!name.endsWith(".png")) {
+                    return path;
+                }
+                png = path;
             }
         }
-        return null;
+        return png;
     }
 
     private void registerThumbnailAsset(Path pngPath, String assetPath) {
@@ -1437,19 +2978,23 @@ public class MediaManager {
             return;
         }
         try {
-            byte[] bytes = Files.readAllBytes(pngPath);
-            commonAssetModule.addCommonAsset(RUNTIME_PACK_NAME, new FileCommonAsset(pngPath, assetPath, bytes));
+            commonAssetModule.addCommonAsset(RUNTIME_PACK_NAME, LazyFileCommonAsset.of(pngPath, assetPath));
         } catch (IOException e) {
             plugin.getLogger().at(Level.WARNING).withCause(e).log("Failed to register thumbnail asset %s", assetPath);
         }
     }
 
+    /**
+     * Number of chunks in the track's active manifest, or 0 when the full chunk set is not
+     * in the runtime pack yet (seek windows and in-progress ingests have no manifest).
+     */
     private int resolveChunkCount(String trackId) {
-        int chunkCount = 0;
-        while (Files.exists(commonAudioPath.resolve(String.format("%s_Chunk_%03d.ogg", trackId, chunkCount)))) {
-            chunkCount++;
-        }
-        return chunkCount;
+        ChunkManifest manifest = chunkManifests.get(trackId);
+        return manifest != null ? manifest.getChunkCount() : 0;
+    }
+
+    public ChunkManifest getChunkManifest(String trackId) {
+        return chunkManifests.get(trackId);
     }
 
     public CompletableFuture<Void> deleteMediaForUrl(String url) {
@@ -1470,13 +3015,48 @@ public class MediaManager {
         if (playbackManager != null) {
             playbackManager.stopAllForTrackId(trackId);
         }
-        return CompletableFuture.runAsync(() -> {
+        return executors.run(MediaExecutors.Stage.REGISTER, MediaExecutors.Priority.PREFETCH, () -> {
             cleanupRuntimeAssets(trackId);
-        }, com.hypixel.hytale.server.core.HytaleServer.SCHEDULED_EXECUTOR);
+            deleteChunkCache(trackId);
+            loudnessMeasurements.remove(trackId);
+        });
     }
 
+    /**
+     * Unloads and deletes the track's runtime assets. Skipped while the track is being
+     * prepared, since that preparation would immediately need them again.
+     */
     public void cleanupRuntimeAssets(String trackId) {
-        int chunkCount = resolveChunkCount(trackId);
+        if (!preparation(trackId).evict(() -> releaseRuntimeAssets(trackId))) {
+            plugin.getLogger().at(Level.FINE).log("Skipped cleanup of %s: preparation in progress", trackId);
+        }
+    }
+
+    private void releaseRuntimeAssets(String trackId) {
+        residency.forget(trackId);
+        evictResidentChunks(trackId, residentChunks(trackId));
+        unregisterTrackModels(trackId);
+        ChunkManifest manifest = chunkManifests.remove(trackId);
+        java.util.List<ChunkReadiness> released = new java.util.ArrayList<>();
+        chunkReadiness.entrySet().removeIf(entry -> {
+            String key = entry.getKey();
+            if (!key.equals(trackId) && !key.startsWith(trackId + "_V")) {
+                return false;
+            }
+            released.add(entry.getValue());
+            return true;
+        });
+        released.forEach(ChunkReadiness::release);
+        deleteMatching(serverSoundEventsPath, trackId + "_Chunk_*_V*.json");
+        deleteMatching(serverModelsPath, "medradio_marker_" + trackId + "*.json");
+        deleteMatching(modelRevisionsPath, "medradio_marker_" + trackId + "*.json");
+        if (manifest == null) {
+            // No manifest: only seek-window chunks exist, at arbitrary indices
+            deleteMatching(commonAudioPath, trackId + "_Chunk_*.ogg");
+            deleteMatching(serverSoundEventsPath, trackId + "_Chunk_*.json");
+            return;
+        }
+        int chunkCount = manifest.getChunkCount();
         for (int i = 0; i < chunkCount; i++) {
             String fileName = String.format("%s_Chunk_%03d.ogg", trackId, i);
             Path chunkPath = commonAudioPath.resolve(fileName);
@@ -1490,10 +3070,60 @@ public class MediaManager {
         }
     }
 
-    public void cleanupRuntimeAssetsAsync(String trackId) {
-        CompletableFuture.runAsync(
-                () -> cleanupRuntimeAssets(trackId),
-                com.hypixel.hytale.server.core.HytaleServer.SCHEDULED_EXECUTOR);
+    private void deleteMatching(Path dir, String glob) {
+        if (!Files.isDirectory(dir)) {
+            return;
+        }
+        try (java.nio.file.DirectoryStream<Path> files = Files.newDirectoryStream(dir, glob)) {
+            for (Path file : files) {
+                deleteFile(file);
+            }
+        } catch (IOException e) {
+            plugin.getLogger().at(Level.WARNING).withCause(e).log("Failed to list %s", dir);
+        }
+    }
+
+    /**
+     * Unloads the track model of every volume step and unregisters their common assets.
+     */
+    private void unregisterTrackModels(String trackId) {
+        java.util.List<String> appearanceIds = new java.util.ArrayList<>();
+        for (Map.Entry<String, ChunkReadiness> entry : chunkReadiness.entrySet()) {
+            String key = entry.getKey();
+            if (!key.equals(trackId) && !key.startsWith(trackId + "_V")) {
+                continue;
+            }
+            String volumeSuffix = key.substring(trackId.length());
+            for (int segment : entry.getValue().getModelSegments()) {
+                appearanceIds.add(String.format("medradio_marker_%s_S%03d", trackId, segment) + volumeSuffix);
+            }
+        }
+        if (appearanceIds.isEmpty()) {
+            return;
+        }
+        try {
+            if (!AssetStoreCompat.removeStoreAssets(ModelAsset.getAssetStore(), RUNTIME_PACK_NAME, appearanceIds,
+                    AssetUpdateQuery.DEFAULT)) {
+                return;
+            }
+        } catch (IllegalStateException e) {
+            plugin.getLogger().at(Level.WARNING).withCause(e).log("Failed to unload track models of %s", trackId);
+            return;
+        }
+        CommonAssetModule commonAssetModule = CommonAssetModule.get();
+        for (String appearanceId : appearanceIds) {
+            removeCommonAsset(commonAssetModule, "NPC/Models/" + appearanceId + ".json");
+        }
+    }
+
+    private void removeCommonAsset(CommonAssetModule commonAssetModule, String assetName) {
+        try {
+            if (AssetStoreCompat.removeCommonAsset(commonAssetModule, RUNTIME_PACK_NAME, assetName)) {
+                LazyFileCommonAsset.forget(assetName);
+            }
+        } catch (IllegalStateException e) {
+            plugin.getLogger().at(Level.WARNING).withCause(e).log("Failed to unregister common asset %s", assetName);
+        }
     }
 
     private void deleteCommonAsset(String assetName, Path filePath) {
@@ -1609,6 +3239,12 @@ public class MediaManager {
         public String artist;
         public long duration;
         public int version;
+        public String sourceFile;
+        public String container;
+        public String codec;
+        public String thumbnailUrl;
+        // When the metadata above was last fetched (epoch millis); 0 for entries from before the cache
+        public long metadataFetchedAt;
 
         public StoredSong() {
         }
@@ -1621,6 +3257,21 @@ public class MediaManager {
             this.duration = duration;
             this.version = version;
         }
+
+        // Entries without a recorded source predate native storage and hold a vorbis .ogg.
+        public String getContainer() {
+            if (container != null) {
+                return container;
+            }
+            return sourceFile == null ? "ogg" : "unknown";
+        }
+
+        public String getCodec() {
+            if (codec != null) {
+                return codec;
+            }
+            return sourceFile == null ? "vorbis" : "unknown";
+        }
     }
 
 }
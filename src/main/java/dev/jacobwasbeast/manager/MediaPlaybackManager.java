@@ -46,10 +46,11 @@ public class MediaPlaybackManager {
     private final Map<UUID, Boolean> loopPreferences = new ConcurrentHashMap<>();
     private final Map<UUID, Float> playerVolumePreferences = new ConcurrentHashMap<>();
     private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(2);
-    private static final int MAX_MISSING_ASSET_RETRIES = 40;
-    private static final long MISSING_ASSET_RETRY_DELAY_MS = 500;
-    private static final long BASE_CHUNK_OVERLAP_MS = 15;
-    private static final long MAX_CHUNK_OVERLAP_MS = 120;
+    private static final long CHUNK_READY_TIMEOUT_MS = 20_000;
+    private static final int VOLUME_VARIANT_AHEAD_CHUNKS = 16;
+    private static final long MAX_DISPATCH_LEAD_MS = 120;
+    private static final int SEEK_WINDOW_BEHIND_CHUNKS = 1;
+    private static final int SEEK_WINDOW_AHEAD_CHUNKS = 24;
 
     private int audioMarkerRoleIndex = Integer.MIN_VALUE;
 
@@ -91,6 +92,8 @@ public class MediaPlaybackManager {
 
         // Create new session
         PlaybackSession session = new PlaybackSession(trackId, blockPos, totalChunks, chunkDurationMs);
+        applyChunkTimeline(session);
+        retainTrackAssets(session);
         activeBlockSessions.put(key, session);
         attachBlockEntityRef(session, store, blockPos);
 
@@ -133,6 +136,8 @@ public class MediaPlaybackManager {
                 mediaInfo.thumbnailAssetPath,
                 mediaInfo.url,
                 mediaInfo.duration * 1000L);
+        applyChunkTimeline(session);
+        retainTrackAssets(session);
         activeBlockSessions.put(key, session);
         attachBlockEntityRef(session, store, blockPos);
 
@@ -173,6 +178,8 @@ public class MediaPlaybackManager {
                 mediaInfo.thumbnailAssetPath,
                 mediaInfo.url,
                 mediaInfo.duration * 1000L);
+        applyChunkTimeline(session);
+        retainTrackAssets(session);
         session.setLoopEnabled(loopPreferences.getOrDefault(playerId, false));
         session.setVolume(getPlayerVolume(playerId));
         activePlayerSessions.put(playerId, session);
@@ -295,6 +302,53 @@ public class MediaPlaybackManager {
         return toStop.size();
     }
 
+    /**
+     * Change a session's volume. Only the session's volume step changes here; the next
+     * chunk plays through that step's shared SoundEvent variants, which are prepared in the
+     * background if no other session uses the step yet.
+     */
+    public void setSessionVolume(PlaybackSession session, float volumeDb) {
+        if (session == null) {
+            return;
+        }
+        session.setVolume(volumeDb);
+        MediaManager mediaManager = plugin.getMediaManager();
+        if (mediaManager != null && !session.isStopped()) {
+            int chunkIndex = session.getCurrentChunk();
+            mediaManager.prepareVolumeVariantAsync(session.getTrackId(), VolumeUtil.eventDbToStep(volumeDb),
+                    chunkIndex, chunkIndex + 1 + VOLUME_VARIANT_AHEAD_CHUNKS, session.getTotalChunks());
+        }
+    }
+
+    /**
+     * Apply a track's measured chunk boundaries (and final chunk count) to every session
+     * playing it, e.g. once a streamed track finishes ingesting.
+     */
+    public void updateTrackTimeline(String trackId, ChunkManifest manifest) {
+        if (trackId == null || manifest == null || manifest.getChunkCount() <= 0) {
+            return;
+        }
+        long[] chunkStartMicros = manifest.getChunkStartMicros();
+        for (PlaybackSession session : activePlayerSessions.values()) {
+            if (trackId.equals(session.getTrackId())) {
+                session.setChunkTimeline(chunkStartMicros);
+            }
+        }
+        for (PlaybackSession session : activeBlockSessions.values()) {
+            if (trackId.equals(session.getTrackId())) {
+                session.setChunkTimeline(chunkStartMicros);
+            }
+        }
+    }
+
+    private void applyChunkTimeline(PlaybackSession session) {
+        MediaManager mediaManager = plugin.getMediaManager();
+        ChunkManifest manifest = mediaManager != null ? mediaManager.getChunkManifest(session.getTrackId()) : null;
+        if (manifest != null) {
+            session.setChunkTimeline(manifest.getChunkStartMicros());
+        }
+    }
+
     public boolean isLoopEnabled(UUID playerId) {
         return loopPreferences.getOrDefault(playerId, false);
     }
@@ -331,7 +385,7 @@ public class MediaPlaybackManager {
 
             // If playing, play the new chunk
             if (session.isPlaying()) {
-                playCurrentChunk(session, store);
+                playAfterSeek(session, store);
             }
 
             plugin.getLogger().at(Level.INFO).log("Seeked to %.1f%% (chunk %d)",
@@ -346,7 +400,7 @@ public class MediaPlaybackManager {
             session.seekToMs(targetMs);
 
             if (session.isPlaying()) {
-                playCurrentChunk(session, store);
+                playAfterSeek(session, store);
             }
 
             plugin.getLogger().at(Level.INFO).log("Seeked for %s to %.1f%% (chunk %d)",
@@ -354,6 +408,31 @@ public class MediaPlaybackManager {
         }
     }
 
+    /**
+     * Plays the chunk a seek landed on. If that part of the track has not been prepared
+     * yet, only a small window around it is prepared first instead of the whole track.
+     */
+    private void playAfterSeek(PlaybackSession session, Store<EntityStore> store) {
+        MediaManager mediaManager = plugin.getMediaManager();
+        int targetChunk = session.getCurrentChunk();
+        if (mediaManager == null || mediaManager.isChunkLoaded(session.getTrackId(), targetChunk,
+                VolumeUtil.eventDbToStep(session.getVolume()))) {
+            playCurrentChunk(session, store);
+            return;
+        }
+        session.setScheduledNextChunk(null);
+        int start = Math.max(0, targetChunk - SEEK_WINDOW_BEHIND_CHUNKS);
+        int end = Math.min(session.getTotalChunks(), targetChunk + SEEK_WINDOW_AHEAD_CHUNKS);
+        mediaManager.prepareChunkRange(session.getTrackId(), start, end, session.getChunkDurationMs(),
+                session.getVolume()).thenAccept(ready -> store.getExternalData().getWorld().execute(() -> {
+                    // A later seek, pause or stop supersedes this one.
+                    if (session.isPlaying() && session.getCurrentChunk() == targetChunk) {
+                        session.markChunkStart();
+                        playCurrentChunk(session, store);
+                    }
+                }));
+    }
+
     public void updateComponent(Vector3i pos, Store<EntityStore> store,
             java.util.function.Consumer<dev.jacobwasbeast.component.RadioComponent> updater) {
         if (pos == null || store == null || updater == null) {
@@ -511,27 +590,39 @@ public class MediaPlaybackManager {
             return;
         }
 
+        if (session.getCurrentChunk() >= session.getTotalChunks()) {
+            // The real chunk count came in below the estimate the playhead had already passed
+            if (!session.isLoopEnabled()) {
+                session.stop();
+                removeSession(session);
+                handleSessionEnded(session, store);
+                return;
+            }
+            session.setCurrentChunk(0);
+            session.markChunkStart();
+        }
+
         String trackId = session.getTrackId();
-        String chunkTrackId = session.getCurrentChunkTrackId();
         int chunkIndex = session.getCurrentChunk();
+        int volumeStep = VolumeUtil.eventDbToStep(session.getVolume());
+        String chunkTrackId = MediaManager.chunkSoundEventId(trackId, chunkIndex, volumeStep);
 
         // Look up chunk SoundEvent and Track Model
-        // We now use a single model "medradio_marker_<trackId>" for the whole track
-        String trackAppearanceId = "medradio_marker_" + trackId;
+        // One model per 256-chunk segment and volume step: "medradio_marker_<trackId>_S<segment>[_V<percent>]"
+        String trackAppearanceId = MediaManager.trackAppearanceId(trackId, chunkIndex, volumeStep);
 
         SoundEvent soundEvent = SoundEvent.getAssetMap().getAsset(chunkTrackId);
         ModelAsset trackModel = ModelAsset.getAssetMap().getAsset(trackAppearanceId);
+        MediaManager mediaManager = plugin.getMediaManager();
+        if (mediaManager != null) {
+            mediaManager.updatePlayhead(session);
+        }
 
-        if (soundEvent == null || trackModel == null) {
-            // Log less frequently or debug
-            if (session.getMissingAssetRetries() % 5 == 0) {
-                plugin.getLogger().at(Level.WARNING).log("Chunk Asset not ready: %s (Sound or Model missing)",
-                        chunkTrackId);
-            }
-            scheduleMissingAssetRetry(session, store);
+        if (soundEvent == null || trackModel == null
+                || (mediaManager != null && !mediaManager.isChunkReady(trackId, chunkIndex, volumeStep))) {
+            awaitChunkReady(session, store, chunkIndex, volumeStep);
             return;
         }
-        session.resetMissingAssetRetries();
         session.markChunkStart();
 
 
@@ -595,6 +686,14 @@ public class MediaPlaybackManager {
 
             // Initial appearance set
             NPCEntity.setAppearance(marker, trackAppearanceId, (ComponentAccessor<EntityStore>) store);
+            session.setAppearanceId(trackAppearanceId);
+        } else if (!trackAppearanceId.equals(session.getAppearanceId())) {
+            // The volume step changed, or playback crossed into the next model segment: switch
+            // to the model whose states cover this chunk at this step. A segment crossing is
+            // scheduled without lead (see scheduleNextChunk), so the previous chunk has
+            // finished and the swap cannot cut its tail.
+            NPCEntity.setAppearance(marker, trackAppearanceId, (ComponentAccessor<EntityStore>) store);
+            session.setAppearanceId(trackAppearanceId);
         }
 
         // Trigger Animation State for this chunk
@@ -608,6 +707,10 @@ public class MediaPlaybackManager {
 
         // Schedule next chunk
         scheduleNextChunk(session, store);
+        if (mediaManager != null) {
+            mediaManager.prepareVolumeVariantAsync(trackId, volumeStep, chunkIndex + 1,
+                    chunkIndex + 1 + VOLUME_VARIANT_AHEAD_CHUNKS, session.getTotalChunks());
+        }
 
         // Update position if player bound
         if (session.isPlayerBound()) {
@@ -629,26 +732,32 @@ public class MediaPlaybackManager {
     }
 
     /**
-     * Schedule the next chunk to play after current one finishes
+     * Schedule the next chunk to play when the current one actually ends. Chunk lengths
+     * come from the track's measured chunk boundaries; the only lead applied is the
+     * observed delay between the timer firing and the chunk starting on the world thread.
+     * No lead is applied when the next chunk lives in another model segment: switching the
+     * marker's model stops the sound of the current one, so that switch waits until the
+     * current chunk has ended.
      */
     private void scheduleNextChunk(PlaybackSession session, Store<EntityStore> store) {
-        long lagMs = session.getLastScheduleLagMs();
-        long overlapMs = BASE_CHUNK_OVERLAP_MS + lagMs;
-        overlapMs = Math.min(MAX_CHUNK_OVERLAP_MS, overlapMs);
-        long maxOverlap = Math.max(0, session.getChunkDurationMs() - 5);
-        overlapMs = Math.min(overlapMs, maxOverlap);
-        long delayMs = Math.max(0, session.getChunkDurationMs() - overlapMs);
+        int currentChunk = session.getCurrentChunk();
+        long chunkLengthMs = session.getChunkLengthMs(currentChunk);
+        int nextChunk = currentChunk + 1 < session.getTotalChunks() ? currentChunk + 1 : 0;
+        boolean segmentChange = nextChunk / MediaManager.MODEL_SEGMENT_CHUNKS
+                != currentChunk / MediaManager.MODEL_SEGMENT_CHUNKS;
+        long leadMs = segmentChange ? 0 : Math.min(session.getDispatchLatencyMs(),
+                Math.min(MAX_DISPATCH_LEAD_MS, Math.max(0, chunkLengthMs - 5)));
+        long fireAtMs = session.getCurrentChunkStartMs() + chunkLengthMs - leadMs;
+        long delayMs = Math.max(0, fireAtMs - System.currentTimeMillis());
 
         ScheduledFuture<?> future = scheduler.schedule(() -> {
             if (!session.isPlaying()) {
                 return;
             }
-            long expectedEnd = session.getCurrentChunkStartMs() + session.getChunkDurationMs();
-            long lag = Math.max(0, System.currentTimeMillis() - expectedEnd);
-            session.setLastScheduleLagMs(lag);
             if (session.advanceChunk()) {
                 // Use world thread to play sound
                 store.getExternalData().getWorld().execute(() -> {
+                    session.recordDispatchLatency(System.currentTimeMillis() - fireAtMs);
                     playCurrentChunk(session, store);
                 });
                 return;
@@ -663,29 +772,45 @@ public class MediaPlaybackManager {
         session.setScheduledNextChunk(future);
     }
 
-    private void scheduleMissingAssetRetry(PlaybackSession session, Store<EntityStore> store) {
-        int attempts = session.incrementMissingAssetRetries();
-        if (attempts > MAX_MISSING_ASSET_RETRIES) {
-            plugin.getLogger().at(Level.WARNING).log("SoundEvent still missing after %d attempts, stopping playback.",
-                    attempts);
-            session.stop();
-            removeSession(session);
-            store.getExternalData().getWorld().execute(() -> {
-                handleSessionEnded(session, store);
-            });
+    /**
+     * Waits for the chunk's SoundEvent and model state to be loaded, then plays it. Playback
+     * stops if the chunk does not become ready within {@link #CHUNK_READY_TIMEOUT_MS}.
+     */
+    private void awaitChunkReady(PlaybackSession session, Store<EntityStore> store, int chunkIndex, int volumeStep) {
+        MediaManager mediaManager = plugin.getMediaManager();
+        if (mediaManager == null) {
             return;
         }
-
-        ScheduledFuture<?> future = scheduler.schedule(() -> {
-            if (!session.isPlaying()) {
+        plugin.getLogger().at(Level.INFO).log("Waiting for chunk assets: %s", session.getCurrentChunkTrackId());
+        ScheduledFuture<?> timeout = scheduler.schedule(() -> {
+            if (!session.isPlaying() || session.getCurrentChunk() != chunkIndex) {
                 return;
             }
+            plugin.getLogger().at(Level.WARNING).log("Chunk %s still not ready after %d ms, stopping playback.",
+                    session.getCurrentChunkTrackId(), CHUNK_READY_TIMEOUT_MS);
+            // Stopping cancels the scheduled future and with it the readiness wait
+            session.stop();
+            removeSession(session);
             store.getExternalData().getWorld().execute(() -> {
-                playCurrentChunk(session, store);
+                handleSessionEnded(session, store);
             });
-        }, MISSING_ASSET_RETRY_DELAY_MS, TimeUnit.MILLISECONDS);
-
-        session.setScheduledNextChunk(future);
+        }, CHUNK_READY_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        session.setScheduledNextChunk(timeout);
+
+        mediaManager.prepareVolumeVariantAsync(session.getTrackId(), volumeStep, chunkIndex,
+                chunkIndex + VOLUME_VARIANT_AHEAD_CHUNKS, session.getTotalChunks());
+        Runnable cancelWait = mediaManager.whenChunkReady(session.getTrackId(), chunkIndex, volumeStep,
+                () -> store.getExternalData().getWorld().execute(() -> {
+                    // Superseded by a seek, pause, stop or a newer wait on the same chunk.
+                    if (session.getScheduledNextChunk() != timeout || !session.isPlaying()
+                            || session.getCurrentChunk() != chunkIndex) {
+                        return;
+                    }
+                    playCurrentChunk(session, store);
+                }));
+        if (session.getScheduledNextChunk() == timeout) {
+            session.setChunkWait(cancelWait);
+        }
     }
 
     /**
@@ -744,6 +869,10 @@ public class MediaPlaybackManager {
         if (session == null) {
             return;
         }
+        MediaManager mediaManager = plugin.getMediaManager();
+        if (mediaManager != null) {
+            mediaManager.releaseSession(session);
+        }
         if (session.isPlayerBound()) {
             PlayerRef playerRef = session.getPlayerRef();
             if (playerRef != null) {
@@ -800,32 +929,18 @@ public class MediaPlaybackManager {
         }
         session.setMarkerEntity(null);
         session.setNPCEntity(null);
-
-        String trackId = session.getTrackId();
-        if (trackId == null || trackId.isEmpty()) {
-            return;
-        }
-        if (isTrackActive(trackId)) {
-            return;
-        }
+        // The track's assets outlive the session for a grace period, see TrackAssetGc
         MediaManager manager = plugin.getMediaManager();
         if (manager != null) {
-            manager.cleanupRuntimeAssetsAsync(trackId);
+            manager.releaseSession(session);
         }
     }
 
-    private boolean isTrackActive(String trackId) {
-        for (PlaybackSession session : activePlayerSessions.values()) {
-            if (trackId.equals(session.getTrackId()) && !session.isStopped()) {
-                return true;
-            }
-        }
-        for (PlaybackSession session : activeBlockSessions.values()) {
-            if (trackId.equals(session.getTrackId()) && !session.isStopped()) {
-                return true;
-            }
+    private void retainTrackAssets(PlaybackSession session) {
+        MediaManager manager = plugin.getMediaManager();
+        if (manager != null) {
+            manager.retainTrack(session);
         }
-        return false;
     }
 
     /**
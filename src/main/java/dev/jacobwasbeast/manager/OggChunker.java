@@ -0,0 +1,500 @@
+package dev.jacobwasbeast.manager;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cuts a normalized Ogg/Vorbis master into playback chunks at page boundaries.
+ * No audio is decoded: each chunk is the master's header pages followed by a run of
+ * audio pages with rebased granule positions, renumbered sequence numbers, an EOS flag
+ * on the last page and recomputed CRCs.
+ *
+ * Chunk {@code i} ends at the first page boundary at or after {@code (i + 1)} chunk
+ * durations into the stream, so chunk indices stay locked to the time grid but individual
+ * chunks are slightly longer or shorter than the nominal duration. A master may be made of
+ * several parts (one per parallel encode range); a chunk never spans two parts. Parts are
+ * rarely a whole number of chunks long, so the grid carries across them: pages past a
+ * boundary are held back until they add up to half a chunk, and a shorter tail at the end
+ * of a part joins the chunk before it instead of becoming a chunk of its own. The next
+ * part's first chunk then runs to the following grid line.
+ *
+ * Every chunk is its own Vorbis stream, and a Vorbis decoder returns nothing for the first
+ * audio packet of a stream: each packet's output overlaps the packet before it. Cut as-is,
+ * every seam would lose that overlap (about half a block) while the chunk's granules still
+ * counted it. So each chunk after the first of a part starts with a copy of the previous
+ * chunk's last packet on a page of its own at granule 0. The decoder primes on it and
+ * discards its output, and the chunk's first real packet decodes exactly as it did in the
+ * master. Chunk durations therefore stay equal to what plays, and consecutive chunks still
+ * add up to the master sample for sample.
+ */
+public final class OggChunker {
+    private static final int HEADER_PACKETS = 3;
+    private static final int FLAG_CONTINUED = 0x01;
+    private static final int FLAG_EOS = 0x04;
+    private static final int[] CRC_TABLE = buildCrcTable();
+
+    public interface ChunkListener {
+        void onChunk(int index, long samples) throws IOException;
+    }
+
+    public static final class Result {
+        public final int chunkCount;
+        public final int sampleRate;
+        public final long[] chunkSamples;
+
+        private Result(int chunkCount, int sampleRate, long[] chunkSamples) {
+            this.chunkCount = chunkCount;
+            this.sampleRate = sampleRate;
+            this.chunkSamples = chunkSamples;
+        }
+    }
+
+    private final Path outputDir;
+    private final String trackId;
+    private final int chunkDurationMs;
+    private final int firstIndex;
+    private final ChunkListener listener;
+
+    private final List<byte[]> headerPages = new ArrayList<>();
+    private final List<Long> chunkSamples = new ArrayList<>();
+    // Pages past the current chunk's boundary, not yet known to be long enough for a chunk
+    private final List<byte[]> carriedPages = new ArrayList<>();
+    private int headerPacketsSeen;
+    private int sampleRate;
+    private long chunkSamplesNominal;
+
+    private long partOffset;
+    private long partLastGranule;
+    private long chunkBaseGranule;
+    private long chunkTailGranule;
+    private long carriedGranule;
+    private boolean boundaryReached;
+
+    private OutputStream chunkOut;
+    private int chunkSequence;
+    private long chunkLastGranule;
+    private byte[] heldPage;
+    // Last complete audio packet appended; replayed at the start of the next chunk as a primer
+    private byte[] lastPacket;
+    private final java.io.ByteArrayOutputStream packetBuffer = new java.io.ByteArrayOutputStream();
+
+    public OggChunker(Path outputDir, String trackId, int chunkDurationMs, ChunkListener listener) {
+        this(outputDir, trackId, chunkDurationMs, 0, listener);
+    }
+
+    private OggChunker(Path outputDir, String trackId, int chunkDurationMs, int firstIndex, ChunkListener listener) {
+        this.outputDir = outputDir;
+        this.trackId = trackId;
+        this.chunkDurationMs = Math.max(1, chunkDurationMs);
+        this.firstIndex = firstIndex;
+        this.listener = listener;
+    }
+
+    /**
+     * Splits the given master parts, in order, into {@code <trackId>_Chunk_%03d.ogg} files.
+     */
+    public static Result split(List<Path> parts, Path outputDir, String trackId, int chunkDurationMs)
+            throws IOException {
+        return split(parts, outputDir, trackId, chunkDurationMs, 0);
+    }
+
+    /**
+     * Splits parts encoded from a chunk-aligned offset into the track, numbering the first
+     * chunk {@code firstIndex}.
+     */
+    public static Result split(List<Path> parts, Path outputDir, String trackId, int chunkDurationMs,
+            int firstIndex) throws IOException {
+        OggChunker chunker = new OggChunker(outputDir, trackId, chunkDurationMs, firstIndex, null);
+        for (Path part : parts) {
+            chunker.consume(part);
+        }
+        return chunker.finish();
+    }
+
+    /**
+     * Reads one master part through a read-only memory map.
+     */
+    public void consume(Path part) throws IOException {
+        try (FileChannel channel = FileChannel.open(part, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Ogg master part too large to map: " + part);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            beginPart();
+            int position = 0;
+            while (position < size) {
+                int length = pageLength(buffer, position, (int) size);
+                byte[] page = new byte[length];
+                buffer.get(position, page);
+                acceptPage(page);
+                position += length;
+            }
+            endPart();
+        }
+    }
+
+    /**
+     * Reads one master part from a stream (e.g. ffmpeg stdout), copying every page to
+     * {@code tee} when it is not null. Chunks are reported to the listener as they close.
+     */
+    public void consume(InputStream in, OutputStream tee) throws IOException {
+        beginPart();
+        byte[] page;
+        while ((page = readPage(in)) != null) {
+            if (tee != null) {
+                tee.write(page);
+            }
+            acceptPage(page);
+        }
+        endPart();
+    }
+
+    public Result finish() throws IOException {
+        closeChunk();
+        long[] samples = new long[chunkSamples.size()];
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = chunkSamples.get(i);
+        }
+        return new Result(samples.length, sampleRate, samples);
+    }
+
+    /**
+     * Reads the sample rate from a chunk's identification header and the granule position
+     * of its last page, without touching the audio in between.
+     *
+     * @return {@code {sampleRate, lastGranule}}
+     */
+    public static long[] probe(Path chunk) throws IOException {
+        try (FileChannel channel = FileChannel.open(chunk, StandardOpenOption.READ)) {
+            long size = channel.size();
+            java.nio.ByteBuffer head = java.nio.ByteBuffer.allocate((int) Math.min(size, 4096));
+            channel.read(head, 0);
+            byte[] first = head.array();
+            if (first.length < 28 || first[0] != 'O' || first[1] != 'g' || first[2] != 'g' || first[3] != 'S') {
+                throw new IOException("Not an Ogg file: " + chunk);
+            }
+            int body = 27 + (first[26] & 0xFF);
+            if (first.length < body + 16 || first[body] != 0x01 || first[body + 1] != 'v') {
+                throw new IOException("Not a Vorbis stream: " + chunk);
+            }
+            long rate = readUnsignedInt(first, body + 12);
+
+            int tailLength = (int) Math.min(size, 65536 + 27 + 255);
+            java.nio.ByteBuffer tailBuffer = java.nio.ByteBuffer.allocate(tailLength);
+            channel.read(tailBuffer, size - tailLength);
+            byte[] tail = tailBuffer.array();
+            for (int i = tail.length - 27; i >= 0; i--) {
+                if (tail[i] != 'O' || tail[i + 1] != 'g' || tail[i + 2] != 'g' || tail[i + 3] != 'S') {
+                    continue;
+                }
+                int segments = tail[i + 26] & 0xFF;
+                if (i + 27 + segments > tail.length) {
+                    continue;
+                }
+                int length = 27 + segments;
+                for (int s = 0; s < segments; s++) {
+                    length += tail[i + 27 + s] & 0xFF;
+                }
+                long granule = readLong(tail, i + 6);
+                if (i + length == tail.length && granule != -1) {
+                    return new long[] { rate, granule };
+                }
+            }
+            throw new IOException("No final Ogg page found in " + chunk);
+        }
+    }
+
+    private void beginPart() {
+        headerPages.clear();
+        headerPacketsSeen = 0;
+        partLastGranule = 0;
+        chunkBaseGranule = 0;
+        chunkTailGranule = 0;
+        carriedGranule = 0;
+        boundaryReached = false;
+        // A part is a fresh encode whose first packet has no predecessor
+        lastPacket = null;
+        packetBuffer.reset();
+    }
+
+    private void endPart() throws IOException {
+        if (headerPacketsSeen < HEADER_PACKETS) {
+            throw new IOException("Ogg master part ended before the Vorbis headers");
+        }
+        // Too short for a chunk of its own: the tail stays with the chunk before it
+        List<byte[]> tail = new ArrayList<>(carriedPages);
+        carriedPages.clear();
+        for (byte[] page : tail) {
+            appendPage(page);
+        }
+        closeChunk();
+        partOffset += partLastGranule;
+    }
+
+    private void acceptPage(byte[] page) throws IOException {
+        if (headerPacketsSeen < HEADER_PACKETS) {
+            acceptHeaderPage(page);
+            return;
+        }
+        boolean continued = (page[5] & FLAG_CONTINUED) != 0;
+        if (boundaryReached && (!continued || !carriedPages.isEmpty())) {
+            if (continued || carriedPages.isEmpty() || carriedGranule - chunkTailGranule < chunkSamplesNominal / 2) {
+                carriedPages.add(page);
+                long granule = readLong(page, 6);
+                if (granule != -1) {
+                    carriedGranule = granule;
+                }
+                return;
+            }
+            closeChunk();
+            List<byte[]> carried = new ArrayList<>(carriedPages);
+            carriedPages.clear();
+            for (byte[] carriedPage : carried) {
+                acceptPage(carriedPage);
+            }
+            acceptPage(page);
+            return;
+        }
+        appendPage(page);
+    }
+
+    private void appendPage(byte[] page) throws IOException {
+        if (chunkOut == null) {
+            openChunk();
+        }
+        long granule = readLong(page, 6);
+        if (granule != -1) {
+            partLastGranule = granule;
+            chunkTailGranule = granule;
+            long nextBoundary = (chunkSamples.size() + 1) * chunkSamplesNominal;
+            if (partOffset + granule >= nextBoundary) {
+                boundaryReached = true;
+            }
+        }
+        trackPackets(page);
+        writeHeldPage(false);
+        heldPage = page;
+    }
+
+    private void trackPackets(byte[] page) {
+        if ((page[5] & FLAG_CONTINUED) == 0) {
+            packetBuffer.reset();
+        }
+        int segments = page[26] & 0xFF;
+        int offset = 27 + segments;
+        for (int i = 0; i < segments; i++) {
+            int length = page[27 + i] & 0xFF;
+            packetBuffer.write(page, offset, length);
+            offset += length;
+            if (length < 255) {
+                lastPacket = packetBuffer.toByteArray();
+                packetBuffer.reset();
+            }
+        }
+    }
+
+    private byte[] primerPage(byte[] packet) {
+        int segments = packet.length / 255 + 1;
+        if (segments > 255) {
+            return null;
+        }
+        byte[] page = new byte[27 + segments + packet.length];
+        System.arraycopy(headerPages.get(0), 0, page, 0, 27);
+        page[5] = 0;
+        writeLong(page, 6, 0L);
+        page[26] = (byte) segments;
+        for (int i = 0; i < segments - 1; i++) {
+            page[27 + i] = (byte) 255;
+        }
+        page[27 + segments - 1] = (byte) (packet.length % 255);
+        System.arraycopy(packet, 0, page, 27 + segments, packet.length);
+        return page;
+    }
+
+    private void acceptHeaderPage(byte[] page) throws IOException {
+        int segments = page[26] & 0xFF;
+        boolean firstPacketOnPage = headerPacketsSeen == 0 && headerPages.isEmpty();
+        for (int i = 0; i < segments; i++) {
+            if (headerPacketsSeen >= HEADER_PACKETS) {
+                throw new IOException("Audio data shares a page with the Vorbis setup header");
+            }
+            if ((page[27 + i] & 0xFF) < 255) {
+                headerPacketsSeen++;
+            }
+        }
+        if (firstPacketOnPage) {
+            int body = 27 + segments;
+            if (page.length < body + 16 || page[body] != 0x01 || page[body + 1] != 'v') {
+                throw new IOException("Ogg master is not a Vorbis stream");
+            }
+            int rate = (int) readUnsignedInt(page, body + 12);
+            if (sampleRate != 0 && sampleRate != rate) {
+                throw new IOException("Ogg master parts use different sample rates");
+            }
+            sampleRate = rate;
+            chunkSamplesNominal = Math.max(1L, (long) sampleRate * chunkDurationMs / 1000L);
+        }
+        headerPages.add(page);
+    }
+
+    private void openChunk() throws IOException {
+        int index = firstIndex + chunkSamples.size();
+        Path chunkPath = outputDir.resolve(String.format("%s_Chunk_%03d.ogg", trackId, index));
+        chunkOut = new BufferedOutputStream(Files.newOutputStream(chunkPath), 64 * 1024);
+        chunkSequence = 0;
+        chunkLastGranule = 0;
+        boundaryReached = false;
+        for (byte[] header : headerPages) {
+            writePage(header.clone(), false, false);
+        }
+        byte[] primer = lastPacket != null ? primerPage(lastPacket) : null;
+        if (primer != null) {
+            writePage(primer, false, false);
+        }
+    }
+
+    private void closeChunk() throws IOException {
+        if (chunkOut == null) {
+            return;
+        }
+        writeHeldPage(true);
+        chunkOut.close();
+        chunkOut = null;
+        int index = firstIndex + chunkSamples.size();
+        long samples = Math.max(0L, chunkLastGranule);
+        chunkSamples.add(samples);
+        chunkBaseGranule += samples;
+        boundaryReached = false;
+        if (listener != null) {
+            listener.onChunk(index, samples);
+        }
+    }
+
+    private void writeHeldPage(boolean endOfStream) throws IOException {
+        if (heldPage == null) {
+            return;
+        }
+        byte[] page = heldPage;
+        heldPage = null;
+        writePage(page, true, endOfStream);
+    }
+
+    private void writePage(byte[] page, boolean audio, boolean endOfStream) throws IOException {
+        if (audio) {
+            long granule = readLong(page, 6);
+            if (granule != -1) {
+                long rebased = granule - chunkBaseGranule;
+                writeLong(page, 6, rebased);
+                chunkLastGranule = rebased;
+            }
+        }
+        if (endOfStream) {
+            page[5] |= FLAG_EOS;
+        }
+        writeInt(page, 18, chunkSequence++);
+        writeInt(page, 22, 0);
+        writeInt(page, 22, crc(page));
+        chunkOut.write(page);
+    }
+
+    private static int pageLength(MappedByteBuffer buffer, int position, int limit) throws IOException {
+        if (position + 27 > limit || buffer.get(position) != 'O' || buffer.get(position + 1) != 'g'
+                || buffer.get(position + 2) != 'g' || buffer.get(position + 3) != 'S') {
+            throw new IOException("Invalid Ogg page at offset " + position);
+        }
+        int segments = buffer.get(position + 26) & 0xFF;
+        int length = 27 + segments;
+        if (position + length > limit) {
+            throw new IOException("Truncated Ogg page at offset " + position);
+        }
+        for (int i = 0; i < segments; i++) {
+            length += buffer.get(position + 27 + i) & 0xFF;
+        }
+        if (position + length > limit) {
+            throw new IOException("Truncated Ogg page at offset " + position);
+        }
+        return length;
+    }
+
+    private static byte[] readPage(InputStream in) throws IOException {
+        byte[] header = in.readNBytes(27);
+        if (header.length == 0) {
+            return null;
+        }
+        if (header.length < 27 || header[0] != 'O' || header[1] != 'g' || header[2] != 'g' || header[3] != 'S') {
+            throw new IOException("Invalid Ogg page in stream");
+        }
+        int segments = header[26] & 0xFF;
+        byte[] table = in.readNBytes(segments);
+        if (table.length < segments) {
+            throw new IOException("Truncated Ogg page in stream");
+        }
+        int bodyLength = 0;
+        for (byte lacing : table) {
+            bodyLength += lacing & 0xFF;
+        }
+        byte[] page = new byte[27 + segments + bodyLength];
+        System.arraycopy(header, 0, page, 0, 27);
+        System.arraycopy(table, 0, page, 27, segments);
+        int read = in.readNBytes(page, 27 + segments, bodyLength);
+        if (read < bodyLength) {
+            throw new IOException("Truncated Ogg page in stream");
+        }
+        return page;
+    }
+
+    private static int crc(byte[] page) {
+        int crc = 0;
+        for (byte b : page) {
+            crc = (crc << 8) ^ CRC_TABLE[((crc >>> 24) ^ b) & 0xFF];
+        }
+        return crc;
+    }
+
+    private static int[] buildCrcTable() {
+        int[] table = new int[256];
+        for (int i = 0; i < 256; i++) {
+            int r = i << 24;
+            for (int bit = 0; bit < 8; bit++) {
+                r = (r & 0x80000000) != 0 ? (r << 1) ^ 0x04C11DB7 : r << 1;
+            }
+            table[i] = r;
+        }
+        return table;
+    }
+
+    private static long readLong(byte[] data, int offset) {
+        long value = 0;
+        for (int i = 7; i >= 0; i--) {
+            value = (value << 8) | (data[offset + i] & 0xFFL);
+        }
+        return value;
+    }
+
+    private static long readUnsignedInt(byte[] data, int offset) {
+        return (data[offset] & 0xFFL) | (data[offset + 1] & 0xFFL) << 8 | (data[offset + 2] & 0xFFL) << 16
+                | (data[offset + 3] & 0xFFL) << 24;
+    }
+
+    private static void writeLong(byte[] data, int offset, long value) {
+        for (int i = 0; i < 8; i++) {
+            data[offset + i] = (byte) (value >>> (8 * i));
+        }
+    }
+
+    private static void writeInt(byte[] data, int offset, int value) {
+        for (int i = 0; i < 4; i++) {
+            data[offset + i] = (byte) (value >>> (8 * i));
+        }
+    }
+}
@@ -24,26 +24,29 @@ public class PlaybackSession {
     private final String artist;
     private final String thumbnailUrl;
     private final String url;
-    private final int totalChunks;
     private final int chunkDurationMs;
-    private final long totalDurationMs;
+    // Replaced as a whole when the manifest arrives on an ingest or encode thread, so the
+    // world thread always reads a count, duration and chunk grid that belong together
+    private volatile Timeline timeline;
     private float volume = VolumeUtil.percentToEventDb(VolumeUtil.DEFAULT_PERCENT); // decibels
 
     private Ref<EntityStore> markerEntity;
+    private String appearanceId;
     private NPCEntity npcEntity;
     private Ref<ChunkStore> blockEntityRef;
 
     private int currentChunk = 0;
-    private int missingAssetRetries = 0;
     private long currentChunkStartMs = 0;
     private long pausedAtMs = 0;
     private long pausedOffsetMs = 0;
-    private long lastScheduleLagMs = 0;
+    private long dispatchLatencyMs = 0;
     private boolean isPaused = false;
     private boolean pausedByUser = false;
     private boolean isStopped = true;
     private boolean loopEnabled = false;
     private ScheduledFuture<?> scheduledNextChunk;
+    // Cancels the readiness wait that goes with scheduledNextChunk, if any
+    private Runnable chunkWaitCancel;
 
     public PlaybackSession(String trackId, Vector3i blockPosition, int totalChunks, int chunkDurationMs) {
         this(trackId, blockPosition, totalChunks, chunkDurationMs, "", "", "", "", 0);
@@ -58,9 +61,9 @@ public class PlaybackSession {
         this.artist = artist != null ? artist : "";
         this.thumbnailUrl = thumbnailUrl != null ? thumbnailUrl : "";
         this.url = url != null ? url : "";
-        this.totalChunks = totalChunks;
         this.chunkDurationMs = chunkDurationMs;
-        this.totalDurationMs = durationMs > 0 ? durationMs : (long) totalChunks * chunkDurationMs;
+        this.timeline = new Timeline(totalChunks,
+                durationMs > 0 ? durationMs : (long) totalChunks * chunkDurationMs, null);
         this.volume = VolumeUtil.percentToEventDb(VolumeUtil.DEFAULT_PERCENT);
     }
 
@@ -73,9 +76,9 @@ public class PlaybackSession {
         this.artist = artist != null ? artist : "";
         this.thumbnailUrl = thumbnailUrl != null ? thumbnailUrl : "";
         this.url = url != null ? url : "";
-        this.totalChunks = totalChunks;
         this.chunkDurationMs = chunkDurationMs;
-        this.totalDurationMs = durationMs > 0 ? durationMs : (long) totalChunks * chunkDurationMs;
+        this.timeline = new Timeline(totalChunks,
+                durationMs > 0 ? durationMs : (long) totalChunks * chunkDurationMs, null);
         this.volume = VolumeUtil.percentToEventDb(VolumeUtil.DEFAULT_PERCENT);
     }
 
@@ -113,16 +116,76 @@ public class PlaybackSession {
         return url;
     }
 
+    /**
+     * Chunk count, track duration and, when known, the actual start of every chunk in
+     * microseconds (plus the end of the last one).
+     */
+    private record Timeline(int totalChunks, long totalDurationMs, @Nullable long[] chunkStartMicros) {
+    }
+
     public int getTotalChunks() {
-        return totalChunks;
+        return timeline.totalChunks();
+    }
+
+    /**
+     * Replace the nominal chunk grid with the measured chunk boundaries from the track's
+     * chunk manifest; for a streamed track the real count also replaces the duration-based
+     * estimate. Safe to call from any thread. The current chunk is left alone; it only
+     * changes on the world thread, which ends or loops playback once it finds the playhead
+     * past the real end.
+     */
+    public void setChunkTimeline(long[] chunkStartMicros) {
+        if (chunkStartMicros == null || chunkStartMicros.length < 2) {
+            return;
+        }
+        timeline = new Timeline(chunkStartMicros.length - 1, chunkStartMicros[chunkStartMicros.length - 1] / 1000L,
+                chunkStartMicros);
     }
 
     public int getChunkDurationMs() {
         return chunkDurationMs;
     }
 
+    public long getChunkStartMs(int chunk) {
+        long[] chunkStartMicros = timeline.chunkStartMicros();
+        if (chunkStartMicros == null) {
+            return (long) chunk * chunkDurationMs;
+        }
+        return chunkStartMicros[Math.max(0, Math.min(chunk, chunkStartMicros.length - 1))] / 1000L;
+    }
+
+    /**
+     * Actual length of a chunk, falling back to the nominal chunk duration.
+     */
+    public long getChunkLengthMs(int chunk) {
+        long[] chunkStartMicros = timeline.chunkStartMicros();
+        if (chunkStartMicros == null || chunk < 0 || chunk >= chunkStartMicros.length - 1) {
+            return chunkDurationMs;
+        }
+        return (chunkStartMicros[chunk + 1] - chunkStartMicros[chunk]) / 1000L;
+    }
+
+    private int findChunkAt(long positionMs) {
+        long[] chunkStartMicros = timeline.chunkStartMicros();
+        if (chunkStartMicros == null) {
+            return (int) (positionMs / chunkDurationMs);
+        }
+        long positionMicros = positionMs * 1000L;
+        int low = 0;
+        int high = chunkStartMicros.length - 2;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (chunkStartMicros[mid] <= positionMicros) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
     public long getTotalDurationMs() {
-        return totalDurationMs;
+        return timeline.totalDurationMs();
     }
 
     public float getVolume() {
@@ -138,7 +201,7 @@ public class PlaybackSession {
     }
 
     public void setCurrentChunk(int chunk) {
-        this.currentChunk = Math.max(0, Math.min(chunk, totalChunks - 1));
+        this.currentChunk = Math.max(0, Math.min(chunk, timeline.totalChunks() - 1));
     }
 
     public boolean isPaused() {
@@ -172,10 +235,9 @@ public class PlaybackSession {
         if (isStopped) {
             // Fresh start
             currentChunk = 0;
-            missingAssetRetries = 0;
             currentChunkStartMs = System.currentTimeMillis();
             pausedOffsetMs = 0;
-            lastScheduleLagMs = 0;
+            dispatchLatencyMs = 0;
         } else if (isPaused) {
             // Resume within current chunk
             currentChunkStartMs = System.currentTimeMillis() - pausedOffsetMs;
@@ -221,35 +283,22 @@ public class PlaybackSession {
         pausedAtMs = 0;
         pausedOffsetMs = 0;
         pausedByUser = false;
-        missingAssetRetries = 0;
-        lastScheduleLagMs = 0;
+        dispatchLatencyMs = 0;
         cancelScheduledChunk();
     }
 
-    public void resetMissingAssetRetries() {
-        missingAssetRetries = 0;
-    }
-
-    public int incrementMissingAssetRetries() {
-        return ++missingAssetRetries;
-    }
-
-    public int getMissingAssetRetries() {
-        return missingAssetRetries;
-    }
-
     /**
      * Seek to a specific time in milliseconds
      */
     public void seekToMs(long positionMs) {
+        long totalDurationMs = getTotalDurationMs();
         if (positionMs < 0)
             positionMs = 0;
         if (positionMs > totalDurationMs)
             positionMs = totalDurationMs - 1;
 
-        int targetChunk = (int) (positionMs / chunkDurationMs);
-        setCurrentChunk(targetChunk);
-        long offsetInChunk = positionMs - ((long) targetChunk * chunkDurationMs);
+        setCurrentChunk(findChunkAt(positionMs));
+        long offsetInChunk = Math.max(0, positionMs - getChunkStartMs(currentChunk));
 
         if (isPaused) {
             pausedOffsetMs = offsetInChunk;
@@ -268,7 +317,7 @@ public class PlaybackSession {
      */
     public void seekToChunk(int chunk) {
         setCurrentChunk(chunk);
-        seekToMs((long) chunk * chunkDurationMs);
+        seekToMs(getChunkStartMs(currentChunk));
     }
 
     /**
@@ -278,14 +327,15 @@ public class PlaybackSession {
         if (isStopped)
             return 0;
         long offsetInChunk = isPaused ? pausedOffsetMs : Math.max(0, System.currentTimeMillis() - currentChunkStartMs);
-        long position = ((long) currentChunk * chunkDurationMs) + offsetInChunk;
-        return Math.min(position, totalDurationMs);
+        long position = getChunkStartMs(currentChunk) + offsetInChunk;
+        return Math.min(position, getTotalDurationMs());
     }
 
     /**
      * Get playback progress as 0.0 to 1.0
      */
     public double getProgress() {
+        long totalDurationMs = getTotalDurationMs();
         if (totalDurationMs == 0)
             return 0;
         return Math.min(1.0, (double) getCurrentPositionMs() / totalDurationMs);
@@ -295,6 +345,7 @@ public class PlaybackSession {
      * Advance to next chunk. Returns true if there are more chunks.
      */
     public boolean advanceChunk() {
+        int totalChunks = getTotalChunks();
         if (currentChunk < totalChunks - 1) {
             currentChunk++;
             currentChunkStartMs = System.currentTimeMillis();
@@ -321,12 +372,17 @@ public class PlaybackSession {
         return currentChunkStartMs;
     }
 
-    public long getLastScheduleLagMs() {
-        return lastScheduleLagMs;
+    /**
+     * Smoothed delay between the scheduler firing and the chunk actually starting on the
+     * world thread; the next chunk is dispatched this much early.
+     */
+    public long getDispatchLatencyMs() {
+        return dispatchLatencyMs;
     }
 
-    public void setLastScheduleLagMs(long lastScheduleLagMs) {
-        this.lastScheduleLagMs = Math.max(0, lastScheduleLagMs);
+    public void recordDispatchLatency(long latencyMs) {
+        long sample = Math.max(0, latencyMs);
+        this.dispatchLatencyMs = dispatchLatencyMs == 0 ? sample : (dispatchLatencyMs * 3 + sample) / 4;
     }
 
     public ScheduledFuture<?> getScheduledNextChunk() {
@@ -338,11 +394,23 @@ public class PlaybackSession {
         this.scheduledNextChunk = future;
     }
 
+    /**
+     * Ties a readiness wait to the current scheduled future, so whatever supersedes or
+     * cancels that future also drops the wait.
+     */
+    public void setChunkWait(Runnable cancel) {
+        this.chunkWaitCancel = cancel;
+    }
+
     private void cancelScheduledChunk() {
         if (scheduledNextChunk != null && !scheduledNextChunk.isDone()) {
             scheduledNextChunk.cancel(false);
         }
         scheduledNextChunk = null;
+        if (chunkWaitCancel != null) {
+            chunkWaitCancel.run();
+            chunkWaitCancel = null;
+        }
     }
 
     /**
@@ -375,6 +443,17 @@ public class PlaybackSession {
         this.blockEntityRef = blockEntityRef;
     }
 
+    /**
+     * Track model currently applied to the marker entity (one per volume step).
+     */
+    public String getAppearanceId() {
+        return appearanceId;
+    }
+
+    public void setAppearanceId(String appearanceId) {
+        this.appearanceId = appearanceId;
+    }
+
     public NPCEntity getNPCEntity() {
         return npcEntity;
     }
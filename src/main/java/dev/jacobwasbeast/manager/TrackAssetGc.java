@@ -0,0 +1,113 @@
+package dev.jacobwasbeast.manager;
+
+import com.hypixel.hytale.server.core.HytaleServer;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Reference counts tracks by the playback sessions using them. A track whose last
+ * session ended stays prepared for a grace period, so replaying it or restarting a
+ * stopped radio reuses everything; only then is it evicted. Idle tracks are kept in
+ * least-recently-used order, and the oldest are evicted early when more than the idle
+ * limit pile up or the heap runs short.
+ */
+final class TrackAssetGc {
+    // Fraction of the max heap above which an idle track is evicted right away
+    private static final double HEAP_PRESSURE_RATIO = 0.85;
+
+    private final Consumer<String> evictor;
+    private final Map<Object, String> holders = new HashMap<>();
+    private final Map<String, Integer> references = new HashMap<>();
+    // Insertion order is release order, so the first entry is the least recently used
+    private final LinkedHashMap<String, ScheduledFuture<?>> idleTracks = new LinkedHashMap<>();
+
+    /**
+     * @param evictor hands the track's eviction off to another thread; called with no lock held
+     */
+    TrackAssetGc(Consumer<String> evictor) {
+        this.evictor = evictor;
+    }
+
+    /**
+     * Counts {@code holder} as a user of {@code trackId}, cancelling a pending eviction.
+     */
+    synchronized void retain(Object holder, String trackId) {
+        if (holders.putIfAbsent(holder, trackId) != null) {
+            return;
+        }
+        references.merge(trackId, 1, Integer::sum);
+        ScheduledFuture<?> pending = idleTracks.remove(trackId);
+        if (pending != null) {
+            pending.cancel(false);
+        }
+    }
+
+    /**
+     * Drops {@code holder}'s reference. Safe to call more than once per holder.
+     */
+    void release(Object holder, long graceMs, int maxIdleTracks) {
+        List<String> evicted;
+        synchronized (this) {
+            String trackId = holders.remove(holder);
+            if (trackId == null) {
+                return;
+            }
+            evicted = dereference(trackId, graceMs, maxIdleTracks);
+        }
+        evicted.forEach(evictor);
+    }
+
+    synchronized boolean isReferenced(String trackId) {
+        return references.containsKey(trackId);
+    }
+
+    private List<String> dereference(String trackId, long graceMs, int maxIdleTracks) {
+        Integer count = references.get(trackId);
+        if (count == null) {
+            return List.of();
+        }
+        if (count > 1) {
+            references.put(trackId, count - 1);
+            return List.of();
+        }
+        references.remove(trackId);
+        idleTracks.put(trackId, HytaleServer.SCHEDULED_EXECUTOR.schedule(() -> expire(trackId),
+                Math.max(0, graceMs), TimeUnit.MILLISECONDS));
+
+        List<String> evicted = new ArrayList<>();
+        boolean heapPressure = isHeapUnderPressure();
+        Iterator<Map.Entry<String, ScheduledFuture<?>>> eldest = idleTracks.entrySet().iterator();
+        while (eldest.hasNext() && (idleTracks.size() > Math.max(0, maxIdleTracks) || heapPressure)) {
+            Map.Entry<String, ScheduledFuture<?>> entry = eldest.next();
+            entry.getValue().cancel(false);
+            eldest.remove();
+            evicted.add(entry.getKey());
+            // One track per release under heap pressure; the next release re-checks
+            heapPressure = false;
+        }
+        return evicted;
+    }
+
+    private void expire(String trackId) {
+        synchronized (this) {
+            if (idleTracks.remove(trackId) == null) {
+                return;
+            }
+        }
+        evictor.accept(trackId);
+    }
+
+    private static boolean isHeapUnderPressure() {
+        Runtime runtime = Runtime.getRuntime();
+        long used = runtime.totalMemory() - runtime.freeMemory();
+        return used > runtime.maxMemory() * HEAP_PRESSURE_RATIO;
+    }
+}
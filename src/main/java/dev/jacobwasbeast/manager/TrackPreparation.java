@@ -0,0 +1,111 @@
+package dev.jacobwasbeast.manager;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Preparation state of one track's runtime assets. Each step towards {@link State#READY}
+ * is a transition with one shared future: the first caller performs the work, concurrent
+ * callers wait for its result, and later callers get the result straight away. A
+ * transition that fails or yields no chunks is forgotten, so the next caller retries it.
+ *
+ * Eviction only starts when no transition is in flight, and callers arriving during an
+ * eviction wait for it to finish and then prepare the track from the start.
+ */
+final class TrackPreparation {
+    enum State {
+        NEW,
+        DOWNLOADED,
+        SPLITTING,
+        PARTIALLY_REGISTERED,
+        READY,
+        EVICTING
+    }
+
+    private final Map<State, CompletableFuture<Integer>> transitions = new EnumMap<>(State.class);
+    private State state = State.NEW;
+
+    /**
+     * Takes the track to {@code target} by running {@code work}, unless another caller
+     * already did or is doing it, in which case that result is returned.
+     */
+    int advance(State target, Callable<Integer> work) throws Exception {
+        CompletableFuture<Integer> transition;
+        boolean owner = false;
+        synchronized (this) {
+            while (state == State.EVICTING) {
+                wait();
+            }
+            transition = transitions.get(target);
+            if (transition == null) {
+                transition = new CompletableFuture<>();
+                transitions.put(target, transition);
+                owner = true;
+                if (state.ordinal() < target.ordinal()) {
+                    state = target;
+                }
+            }
+        }
+        if (!owner) {
+            try {
+                return transition.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof Exception cause ? cause : e;
+            }
+        }
+        try {
+            int result = work.call();
+            if (result <= 0) {
+                forget(target, transition);
+            }
+            transition.complete(result);
+            return result;
+        } catch (Exception e) {
+            forget(target, transition);
+            transition.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Runs {@code release} as the EVICTING state and resets the track to NEW. Returns
+     * false without running it while a transition is in flight.
+     */
+    boolean evict(Runnable release) {
+        synchronized (this) {
+            if (state == State.EVICTING) {
+                return false;
+            }
+            for (CompletableFuture<Integer> transition : transitions.values()) {
+                if (!transition.isDone()) {
+                    return false;
+                }
+            }
+            state = State.EVICTING;
+            transitions.clear();
+        }
+        try {
+            release.run();
+        } finally {
+            synchronized (this) {
+                state = State.NEW;
+                notifyAll();
+            }
+        }
+        return true;
+    }
+
+    private synchronized void forget(State target, CompletableFuture<Integer> transition) {
+        transitions.remove(target, transition);
+        State reached = State.NEW;
+        for (Map.Entry<State, CompletableFuture<Integer>> entry : transitions.entrySet()) {
+            if (entry.getValue().isDone() && entry.getKey().ordinal() > reached.ordinal()) {
+                reached = entry.getKey();
+            }
+        }
+        state = reached;
+    }
+}
@@ -36,15 +36,16 @@ public class RadioConfigPage extends InteractiveCustomUIPage<RadioConfigPage.Rad
     private static final Map<UUID, Long> LAST_TIME_SECONDS = new ConcurrentHashMap<>();
     private static final long SEEK_DEBOUNCE_MS = 250;
     private static final Map<UUID, ScrubState> SCRUB_STATES = new ConcurrentHashMap<>();
-    private static final long VOLUME_COOLDOWN_MS = 5000;
-    private static final Map<UUID, Long> LAST_VOLUME_CHANGE_MS = new ConcurrentHashMap<>();
     private static final Map<UUID, Boolean> VOLUME_EDITING = new ConcurrentHashMap<>();
     private static final Map<UUID, Boolean> BOOMBOX_UI_OPEN = new ConcurrentHashMap<>();
-    private static final int VOLUME_STEP_PERCENT = 10;
+    private static final Map<UUID, RadioConfigPage> OPEN_PAGES = new ConcurrentHashMap<>();
+    private static final int VOLUME_STEP_PERCENT = VolumeUtil.STEP_PERCENT;
     private static final int VOLUME_DEFAULT_PERCENT = VolumeUtil.DEFAULT_PERCENT;
 
     private final PlayerRef playerRef;
     private final Vector3i blockPos;
+    // World the page was built on; updates pushed from other threads run there
+    private volatile World world;
 
     public RadioConfigPage(PlayerRef playerRef) {
         this(playerRef, null);
@@ -60,6 +61,8 @@ public class RadioConfigPage extends InteractiveCustomUIPage<RadioConfigPage.Rad
     public void build(@Nonnull Ref<EntityStore> ref, @Nonnull UICommandBuilder commandBuilder,
             @Nonnull UIEventBuilder eventBuilder, @Nonnull Store<EntityStore> store) {
         commandBuilder.append("Pages/MediaRadio/RadioConfig.ui");
+        world = store.getExternalData().getWorld();
+        OPEN_PAGES.put(playerRef.getUuid(), this);
         if (blockPos != null) {
             BOOMBOX_UI_OPEN.put(playerRef.getUuid(), true);
         }
@@ -80,10 +83,7 @@ public class RadioConfigPage extends InteractiveCustomUIPage<RadioConfigPage.Rad
             if ((nowPlayingAsset == null || nowPlayingAsset.isEmpty()) && session.getUrl() != null) {
                 var mediaManager = MediaRadioPlugin.getInstance().getMediaManager();
                 if (mediaManager != null) {
-                    String trackId = mediaManager.getTrackIdForUrl(session.getUrl());
-                    if (mediaManager.hasThumbnail(trackId)) {
-                        nowPlayingAsset = mediaManager.getThumbnailAssetPath(trackId);
-                    }
+                    nowPlayingAsset = mediaManager.registerThumbnail(mediaManager.getTrackIdForUrl(session.getUrl()));
                 }
             }
             if (nowPlayingAsset != null && !nowPlayingAsset.isEmpty()) {
@@ -152,10 +152,12 @@ public class RadioConfigPage extends InteractiveCustomUIPage<RadioConfigPage.Rad
                 }
 
                 String assetPath = song.thumbnailAssetPath;
-                if ((assetPath == null || assetPath.isEmpty()) && mediaManager != null && song.url != null) {
+                if (mediaManager != null && song.url != null) {
+                    // Thumbnails are registered the first time a page shows them
                     String trackId = song.trackId != null ? song.trackId : mediaManager.getTrackIdForUrl(song.url);
-                    if (mediaManager.hasThumbnail(trackId)) {
-                        assetPath = mediaManager.getThumbnailAssetPath(trackId);
+                    String registered = mediaManager.registerThumbnail(trackId);
+                    if (!registered.isEmpty() && !registered.equals(assetPath)) {
+                        assetPath = registered;
                         song.trackId = trackId;
                         song.thumbnailAssetPath = assetPath;
                         library.save();
@@ -320,11 +322,6 @@ public class RadioConfigPage extends InteractiveCustomUIPage<RadioConfigPage.Rad
             boolean up = "VolumeUp".equals(data.action);
             data.action = null;
             store.getExternalData().getWorld().execute(() -> {
-                long now = System.currentTimeMillis();
-                Long last = LAST_VOLUME_CHANGE_MS.get(playerRef.getUuid());
-                if (last != null && (now - last) < VOLUME_COOLDOWN_MS) {
-                    return;
-                }
                 PlaybackSession session = resolveSession();
                 float currentPercent;
                 var playbackManager = MediaRadioPlugin.getInstance().getPlaybackManager();
@@ -337,18 +334,12 @@ public class RadioConfigPage extends InteractiveCustomUIPage<RadioConfigPage.Rad
                 } else {
                     currentPercent = VOLUME_DEFAULT_PERCENT;
                 }
-                LAST_VOLUME_CHANGE_MS.put(playerRef.getUuid(), now);
                 float nextPercent = currentPercent + (up ? VOLUME_STEP_PERCENT : -VOLUME_STEP_PERCENT);
                 float nextClamped = VolumeUtil.clampPercent(nextPercent);
                 float volDb = VolumeUtil.percentToEventDb(nextClamped);
 
-                if (session != null) {
-                    session.setVolume(volDb);
-                    // Replace SoundEvent configs for all chunks with new volume
-                    var mediaManager = MediaRadioPlugin.getInstance().getMediaManager();
-                    if (session.getTrackId() != null) {
-                        mediaManager.updateTrackVolume(session.getTrackId(), session.getTotalChunks(), volDb);
-                    }
+                if (session != null && playbackManager != null) {
+                    playbackManager.setSessionVolume(session, volDb);
                 }
                 if (blockPos != null && playbackManager != null) {
                     playbackManager.updateComponent(blockPos, store, component -> component.setVolume(volDb));
@@ -372,18 +363,12 @@ public class RadioConfigPage extends InteractiveCustomUIPage<RadioConfigPage.Rad
             if (percentValue >= 0.0f) {
                 store.getExternalData().getWorld().execute(() -> {
                     PlaybackSession session = resolveSession();
-                    LAST_VOLUME_CHANGE_MS.put(playerRef.getUuid(), System.currentTimeMillis());
                     float nextClamped = VolumeUtil.clampPercent(percentValue);
                     float volDb = VolumeUtil.percentToEventDb(nextClamped);
-                    if (session != null) {
-                        session.setVolume(volDb);
-                        // Replace SoundEvent configs for all chunks with new volume
-                        var mediaManager = MediaRadioPlugin.getInstance().getMediaManager();
-                        if (session.getTrackId() != null) {
-                            mediaManager.updateTrackVolume(session.getTrackId(), session.getTotalChunks(), volDb);
-                        }
-                    }
                     var playbackManager = MediaRadioPlugin.getInstance().getPlaybackManager();
+                    if (session != null && playbackManager != null) {
+                        playbackManager.setSessionVolume(session, volDb);
+                    }
                     if (blockPos != null && playbackManager != null) {
                         playbackManager.updateComponent(blockPos, store, component -> component.setVolume(volDb));
                     } else if (playbackManager != null) {
@@ -418,7 +403,24 @@ public class RadioConfigPage extends InteractiveCustomUIPage<RadioConfigPage.Rad
             }
             player.sendMessage(Message.translation("Requesting media..."));
 
-            MediaRadioPlugin.getInstance().getMediaManager().requestMedia(finalUrl).thenAccept(mediaInfo -> {
+            MediaRadioPlugin.getInstance().getMediaManager().requestMedia(finalUrl, metadata -> {
+                // Show the title while the audio is still downloading
+                store.getExternalData().getWorld().execute(() -> {
+                    if (library != null) {
+                        library.upsertSongStatus(
+                                getLibraryOwnerId(store),
+                                metadata.url,
+                                "Downloading...",
+                                metadata.title,
+                                metadata.artist,
+                                metadata.thumbnailUrl,
+                                metadata.duration,
+                                metadata.trackId,
+                                null);
+                        refreshUiAfterAction(ref, store, player);
+                    }
+                });
+            }).thenAccept(mediaInfo -> {
                 store.getExternalData().getWorld().execute(() -> {
                     if (library != null) {
                         library.upsertSongStatus(
@@ -568,6 +570,49 @@ public class RadioConfigPage extends InteractiveCustomUIPage<RadioConfigPage.Rad
     public void onDismiss(@Nonnull Ref<EntityStore> ref, @Nonnull Store<EntityStore> store) {
         stopTimeUpdater();
         BOOMBOX_UI_OPEN.remove(playerRef.getUuid());
+        OPEN_PAGES.remove(playerRef.getUuid(), this);
+    }
+
+    /**
+     * Shows a thumbnail that became available after its song was requested on every open
+     * page listing the song. Called from media threads; each page updates on its world.
+     */
+    public static void onThumbnailReady(String trackId, String assetPath) {
+        OPEN_PAGES.values().forEach(page -> page.showThumbnail(trackId, assetPath));
+    }
+
+    private void showThumbnail(String trackId, String assetPath) {
+        World pageWorld = world;
+        if (pageWorld == null) {
+            return;
+        }
+        pageWorld.execute(() -> {
+            Ref<EntityStore> ref = playerRef.getReference();
+            var library = MediaRadioPlugin.getInstance().getMediaLibrary();
+            var mediaManager = MediaRadioPlugin.getInstance().getMediaManager();
+            // The page may have been dismissed while the task was queued
+            if (OPEN_PAGES.get(playerRef.getUuid()) != this || ref == null || !ref.isValid() || library == null
+                    || mediaManager == null) {
+                return;
+            }
+            Store<EntityStore> store = ref.getStore();
+            int i = 0;
+            for (dev.jacobwasbeast.manager.MediaLibrary.SavedSong song : library
+                    .getSongsForPlayer(getLibraryOwnerId(store))) {
+                String songTrackId = song.trackId != null ? song.trackId
+                        : song.url != null ? mediaManager.getTrackIdForUrl(song.url) : null;
+                if (trackId.equals(songTrackId)) {
+                    UICommandBuilder commandBuilder = new UICommandBuilder();
+                    commandBuilder.set("#LibraryList[" + i + "] #Thumbnail.AssetPath", assetPath);
+                    commandBuilder.set("#LibraryList[" + i + "] #Thumbnail.Visible", true);
+                    UIEventBuilder eventBuilder = new UIEventBuilder();
+                    addEventBindings(eventBuilder);
+                    sendUpdate(commandBuilder, eventBuilder, false);
+                    return;
+                }
+                i++;
+            }
+        });
     }
 
     private String formatTime(long ms) {
@@ -628,10 +673,7 @@ public class RadioConfigPage extends InteractiveCustomUIPage<RadioConfigPage.Rad
             if ((nowPlayingAsset == null || nowPlayingAsset.isEmpty()) && session.getUrl() != null) {
                 var mediaManager = MediaRadioPlugin.getInstance().getMediaManager();
                 if (mediaManager != null) {
-                    String trackId = mediaManager.getTrackIdForUrl(session.getUrl());
-                    if (mediaManager.hasThumbnail(trackId)) {
-                        nowPlayingAsset = mediaManager.getThumbnailAssetPath(trackId);
-                    }
+                    nowPlayingAsset = mediaManager.registerThumbnail(mediaManager.getTrackIdForUrl(session.getUrl()));
                 }
             }
             if (nowPlayingAsset != null && !nowPlayingAsset.isEmpty()) {
@@ -0,0 +1,89 @@
+package dev.jacobwasbeast.util;
+
+import com.hypixel.hytale.assetstore.AssetUpdateQuery;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reflective access to asset removal methods the server API does not expose uniformly
+ * across versions. Each operation lists the exact signatures it knows, by name and
+ * parameter list, with the arguments in the order that signature takes them; methods are
+ * resolved once per class and cached. Callers get false back only when the running server
+ * has none of them, and fall back to leaving the asset in place. A known method that fails
+ * throws {@link IllegalStateException} with the server's exception as the cause; such a
+ * failure says nothing about support, so callers log it and try again later.
+ */
+public final class AssetStoreCompat {
+    private static final Map<String, Optional<Method>> METHODS = new ConcurrentHashMap<>();
+
+    private AssetStoreCompat() {
+    }
+
+    private record Call(String name, Class<?>[] parameterTypes, Object... args) {
+    }
+
+    /**
+     * Removes loaded assets by key from an asset store (e.g. {@code SoundEvent.getAssetStore()}).
+     */
+    public static boolean removeStoreAssets(Object assetStore, String packName, Collection<String> keys,
+            AssetUpdateQuery query) {
+        Set<String> keySet = new LinkedHashSet<>(keys);
+        return invokeFirst(assetStore,
+                new Call("removeAssets", new Class<?>[] { String.class, boolean.class, Set.class,
+                        AssetUpdateQuery.class }, packName, true, keySet, query),
+                new Call("removeAssets", new Class<?>[] { String.class, boolean.class, Collection.class,
+                        AssetUpdateQuery.class }, packName, true, keySet, query),
+                new Call("removeAssets", new Class<?>[] { String.class, Collection.class, AssetUpdateQuery.class },
+                        packName, keySet, query),
+                new Call("removeAssets", new Class<?>[] { Collection.class }, keySet));
+    }
+
+    /**
+     * Removes a registered common asset (e.g. from {@code CommonAssetModule.get()}).
+     */
+    public static boolean removeCommonAsset(Object commonAssetModule, String packName, String assetName) {
+        return invokeFirst(commonAssetModule,
+                new Call("removeCommonAsset", new Class<?>[] { String.class, String.class }, packName, assetName),
+                new Call("removeCommonAsset", new Class<?>[] { String.class }, assetName));
+    }
+
+    private static boolean invokeFirst(Object target, Call... calls) {
+        if (target == null) {
+            return false;
+        }
+        for (Call call : calls) {
+            Optional<Method> method = resolve(target.getClass(), call);
+            if (method.isEmpty()) {
+                continue;
+            }
+            try {
+                method.get().invoke(target, call.args());
+                return true;
+            } catch (InvocationTargetException e) {
+                throw new IllegalStateException(call.name() + " failed", e.getCause());
+            } catch (IllegalAccessException | IllegalArgumentException e) {
+                // Not callable with these arguments after all; try the next signature
+            }
+        }
+        return false;
+    }
+
+    private static Optional<Method> resolve(Class<?> type, Call call) {
+        String key = type.getName() + "|" + call.name() + Arrays.toString(call.parameterTypes());
+        return METHODS.computeIfAbsent(key, ignored -> {
+            try {
+                return Optional.of(type.getMethod(call.name(), call.parameterTypes()));
+            } catch (NoSuchMethodException e) {
+                return Optional.empty();
+            }
+        });
+    }
+}
@@ -0,0 +1,104 @@
+package dev.jacobwasbeast.util;
+
+import com.hypixel.hytale.server.core.asset.common.CommonAsset;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Common asset backed by a file that is only read when a client actually requests it.
+ * Registration needs just the content hash, so no asset bytes stay on the heap between
+ * requests. Sizes of the currently registered assets, keyed by name so a re-registration
+ * replaces its entry, and the served byte count are kept for {@link #describeUsage()}.
+ */
+public final class LazyFileCommonAsset extends CommonAsset {
+    private static final Map<String, Long> REGISTERED = new ConcurrentHashMap<>();
+    private static final AtomicLong SERVED_BYTES = new AtomicLong();
+    // File reads block, so they stay off the common pool
+    private static final Executor READS = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final Path file;
+
+    private LazyFileCommonAsset(Path file, String name, String hash, long size) {
+        super(name, hash, null);
+        this.file = file;
+        REGISTERED.put(name, size);
+    }
+
+    /**
+     * Drops an unregistered asset from the usage figures.
+     */
+    public static void forget(String name) {
+        REGISTERED.remove(name);
+    }
+
+    /**
+     * Creates the asset from a hash computed earlier (e.g. the chunk manifest's SHA-256),
+     * without touching the file.
+     */
+    public static LazyFileCommonAsset withHash(Path file, String name, String sha256Hex, long size) {
+        return new LazyFileCommonAsset(file, name, sha256Hex, size);
+    }
+
+    /**
+     * Creates the asset, hashing the file in a streaming pass.
+     */
+    public static LazyFileCommonAsset of(Path file, String name) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (Exception e) {
+            throw new IOException("SHA-256 not supported", e);
+        }
+        long size = 0;
+        byte[] buffer = new byte[64 * 1024];
+        try (InputStream in = Files.newInputStream(file)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+                size += read;
+            }
+        }
+        byte[] hash = digest.digest();
+        StringBuilder hex = new StringBuilder(hash.length * 2);
+        for (byte b : hash) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return new LazyFileCommonAsset(file, name, hex.toString(), size);
+    }
+
+    @Override
+    protected CompletableFuture<byte[]> getBlob0() {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                byte[] bytes = Files.readAllBytes(file);
+                SERVED_BYTES.addAndGet(bytes.length);
+                return bytes;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, READS);
+    }
+
+    /**
+     * One-line summary of lazily registered assets against current heap usage.
+     */
+    public static String describeUsage() {
+        Runtime runtime = Runtime.getRuntime();
+        long usedHeap = runtime.totalMemory() - runtime.freeMemory();
+        return String.format("%d lazy assets (%.1f MB kept off-heap, %.1f MB served on demand), heap %d/%d MB",
+                REGISTERED.size(), REGISTERED.values().stream().mapToLong(Long::longValue).sum() / 1048576.0,
+                SERVED_BYTES.get() / 1048576.0,
+                usedHeap / 1048576, runtime.maxMemory() / 1048576);
+    }
+}
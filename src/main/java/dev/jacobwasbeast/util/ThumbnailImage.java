@@ -0,0 +1,121 @@
+package dev.jacobwasbeast.util;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+
+/**
+ * Decodes, crops and downscales thumbnails in process. The UI shows thumbnails as small
+ * squares ({@code #NowPlayingThumb} is 96x96, {@code #Thumbnail} in a library entry
+ * 44x44), so images are center-cropped to a square of {@link #SIZE} pixels, which both
+ * slots display without stretching, instead of shipping the 1280x720 source.
+ */
+public final class ThumbnailImage {
+    // Largest slot the thumbnail is shown in (#NowPlayingThumb)
+    public static final int SIZE = 96;
+
+    private ThumbnailImage() {
+    }
+
+    /**
+     * Writes {@code source} as a {@link #SIZE}-pixel square PNG to {@code target}. Returns
+     * false, writing nothing, when no ImageIO reader can decode the source (e.g. WebP).
+     */
+    public static boolean writePng(Path source, Path target) throws IOException {
+        BufferedImage image = ImageIO.read(source.toFile());
+        if (image == null) {
+            return false;
+        }
+        BufferedImage scaled = downscale(cropSquare(image), SIZE);
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try {
+            writeCompressedPng(scaled, temp);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        return true;
+    }
+
+    /**
+     * True if {@code png} is already a thumbnail of the target size, or cannot be read.
+     */
+    public static boolean isNormalized(Path png) {
+        try (ImageInputStream in = ImageIO.createImageInputStream(png.toFile())) {
+            Iterator<ImageReader> readers = in != null ? ImageIO.getImageReaders(in) : null;
+            if (readers == null || !readers.hasNext()) {
+                return true;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in);
+                return reader.getWidth(0) <= SIZE && reader.getHeight(0) <= SIZE;
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException e) {
+            return true;
+        }
+    }
+
+    private static BufferedImage cropSquare(BufferedImage image) {
+        int side = Math.min(image.getWidth(), image.getHeight());
+        int x = (image.getWidth() - side) / 2;
+        int y = (image.getHeight() - side) / 2;
+        return image.getSubimage(x, y, side, side);
+    }
+
+    /**
+     * Halves the image with bilinear filtering until one more halving would go below
+     * {@code size}, then scales to the exact size; a single bilinear pass from a large
+     * source skips most pixels and aliases.
+     */
+    private static BufferedImage downscale(BufferedImage image, int size) {
+        int type = image.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        BufferedImage current = image;
+        int side = image.getWidth();
+        do {
+            side = side / 2 >= size ? side / 2 : size;
+            BufferedImage next = new BufferedImage(side, side, type);
+            Graphics2D graphics = next.createGraphics();
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(current, 0, 0, side, side, null);
+            graphics.dispose();
+            current = next;
+        } while (side > size);
+        return current;
+    }
+
+    private static void writeCompressedPng(BufferedImage image, Path target) throws IOException {
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName("png");
+        if (!writers.hasNext()) {
+            throw new IOException("No PNG writer available");
+        }
+        ImageWriter writer = writers.next();
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(target.toFile())) {
+            writer.setOutput(out);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if (param.canWriteCompressed()) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                // Lowest quality means strongest deflate for PNG; it stays lossless
+                param.setCompressionQuality(0.0f);
+            }
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+}
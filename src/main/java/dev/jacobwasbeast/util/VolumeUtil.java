@@ -7,6 +7,10 @@ public final class VolumeUtil {
     public static final float EVENT_DB_MAX = 10.0f;
     public static final float LAYER_DB_MIN = -10.0f;
     public static final float LAYER_DB_MAX = 10.0f;
+    // Playback volume is quantized to this many percent per step; each step maps to one
+    // shared set of SoundEvent variants.
+    public static final int STEP_PERCENT = 10;
+    public static final int DEFAULT_STEP = DEFAULT_PERCENT / STEP_PERCENT;
 
     private VolumeUtil() {
     }
@@ -37,4 +41,12 @@ public final class VolumeUtil {
         float t = (db - EVENT_DB_MIN) / (EVENT_DB_MAX - EVENT_DB_MIN);
         return t * MAX_PERCENT;
     }
+
+    public static int eventDbToStep(float db) {
+        return Math.round(clampPercent(eventDbToPercent(db)) / STEP_PERCENT);
+    }
+
+    public static float stepToEventDb(int step) {
+        return percentToEventDb(step * STEP_PERCENT);
+    }
 }
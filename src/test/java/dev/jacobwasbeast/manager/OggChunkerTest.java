@@ -0,0 +1,119 @@
+package dev.jacobwasbeast.manager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class OggChunkerTest {
+    // 1000 Hz and 100 ms chunks make the nominal chunk 100 samples
+    private static final int SAMPLE_RATE = 1000;
+    private static final int CHUNK_MS = 100;
+    private static final int CHUNK_SAMPLES = 100;
+    private static final int PAGE_SAMPLES = 10;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void partsEndingShortOfAChunkKeepTheGrid() throws IOException {
+        assertStitchedOnGrid(290, 290);
+    }
+
+    @Test
+    void partsEndingJustPastAChunkKeepTheGrid() throws IOException {
+        assertStitchedOnGrid(210, 210);
+    }
+
+    @Test
+    void wholeChunkPartsSplitEvenly() throws IOException {
+        OggChunker.Result result = split(200, 200);
+        assertEquals(4, result.chunkCount);
+        for (long samples : result.chunkSamples) {
+            assertEquals(CHUNK_SAMPLES, samples);
+        }
+    }
+
+    private void assertStitchedOnGrid(int... partSamples) throws IOException {
+        OggChunker.Result result = split(partSamples);
+        long total = 0;
+        for (int samples : partSamples) {
+            total += samples;
+        }
+        long end = 0;
+        for (int i = 0; i < result.chunkCount; i++) {
+            end += result.chunkSamples[i];
+            if (i < result.chunkCount - 1) {
+                long grid = (long) (i + 1) * CHUNK_SAMPLES;
+                assertTrue(Math.abs(end - grid) <= CHUNK_SAMPLES / 2,
+                        "chunk " + i + " ends at " + end + ", off the grid line at " + grid);
+            }
+        }
+        assertEquals(total, end);
+        for (int i = 0; i < result.chunkCount; i++) {
+            assertTrue(Files.exists(dir.resolve(String.format("track_Chunk_%03d.ogg", i))));
+        }
+    }
+
+    private OggChunker.Result split(int... partSamples) throws IOException {
+        Path[] parts = new Path[partSamples.length];
+        for (int i = 0; i < partSamples.length; i++) {
+            parts[i] = dir.resolve("part" + i + ".ogg");
+            Files.write(parts[i], buildPart(partSamples[i]));
+        }
+        return OggChunker.split(List.of(parts), dir, "track", CHUNK_MS);
+    }
+
+    private static byte[] buildPart(int samples) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] identification = new byte[30];
+        identification[0] = 0x01;
+        System.arraycopy("vorbis".getBytes(), 0, identification, 1, 6);
+        identification[11] = 1;
+        writeInt(identification, 12, SAMPLE_RATE);
+        out.write(page(0, 0, new byte[][] { identification }));
+        out.write(page(0, 1, new byte[][] { new byte[12], new byte[16] }));
+        int sequence = 2;
+        for (int granule = PAGE_SAMPLES; granule <= samples; granule += PAGE_SAMPLES) {
+            out.write(page(granule, sequence++, new byte[][] { new byte[20] }));
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] page(long granule, int sequence, byte[][] packets) {
+        int bodyLength = 0;
+        for (byte[] packet : packets) {
+            bodyLength += packet.length;
+        }
+        byte[] page = new byte[27 + packets.length + bodyLength];
+        page[0] = 'O';
+        page[1] = 'g';
+        page[2] = 'g';
+        page[3] = 'S';
+        for (int i = 0; i < 8; i++) {
+            page[6 + i] = (byte) (granule >>> (8 * i));
+        }
+        writeInt(page, 18, sequence);
+        page[26] = (byte) packets.length;
+        int offset = 27 + packets.length;
+        for (int i = 0; i < packets.length; i++) {
+            page[27 + i] = (byte) packets[i].length;
+            System.arraycopy(packets[i], 0, page, offset, packets[i].length);
+            offset += packets[i].length;
+        }
+        return page;
+    }
+
+    private static void writeInt(byte[] data, int offset, int value) {
+        for (int i = 0; i < 4; i++) {
+            data[offset + i] = (byte) (value >>> (8 * i));
+        }
+    }
+}